@@ -1,6 +1,7 @@
 import { apiClient } from "../api/client";
 import {
   Place,
+  PlacePage,
   GetPlacesParams,
   CreatePlaceRequest,
   UpdatePlaceRequest,
@@ -11,7 +12,7 @@ const API_PLACES_URL = "/places";
 
 export const placesService = {
   /**
-   * Get all places with optional filtering
+   * Get all places with optional filtering, following the cursor until the last page
    */
   getAllPlaces: async (params?: GetPlacesParams): Promise<Place[]> => {
     const queryParams: Record<string, string> = {};
@@ -28,11 +29,19 @@ export const placesService = {
       });
     }
 
-    const response = await apiClient.get<Place[]>(`${API_PLACES_URL}/all`, {
-      params: queryParams,
-    });
+    const places: Place[] = [];
+    let cursor: string | null = null;
 
-    return response.data;
+    do {
+      const response: { data: PlacePage } = await apiClient.get<PlacePage>(`${API_PLACES_URL}/all`, {
+        params: cursor ? { ...queryParams, cursor } : queryParams,
+      });
+
+      places.push(...response.data.content);
+      cursor = response.data.nextCursor;
+    } while (cursor);
+
+    return places;
   },
 
   /**
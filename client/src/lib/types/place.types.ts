@@ -48,6 +48,12 @@ export interface Place {
   createdBy: User;
 }
 
+export interface PlacePage {
+  content: Place[];
+  size: number;
+  nextCursor: string | null;
+}
+
 export interface CreatePlaceRequest {
   name: string;
   address: string;
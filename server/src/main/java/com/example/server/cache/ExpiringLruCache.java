@@ -0,0 +1,96 @@
+package com.example.server.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size-bounded, access-ordered cache whose entries also expire at a per-entry deadline.
+ * <p>
+ * All operations take the cache's monitor; they are constant time, so contention stays low
+ * for the request rates the callers see.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long evictions;
+
+    public ExpiringLruCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value, long expiresAt) {
+        entries.put(key, new Entry<>(value, expiresAt));
+        if (entries.size() > maxSize) {
+            evictOne();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Unexpired entries from least to most recently used, e.g. for persisting the cache.
+     */
+    public synchronized List<Map.Entry<K, Entry<V>>> snapshot() {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<K, Entry<V>>> result = new ArrayList<>(entries.size());
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt() > now) {
+                result.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    // Prefer dropping an already expired entry over the least recently used live one
+    private void evictOne() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        for (int scanned = 0; iterator.hasNext() && scanned < 8; scanned++) {
+            if (iterator.next().expiresAt() <= now) {
+                iterator.remove();
+                return;
+            }
+        }
+        iterator = entries.values().iterator();
+        iterator.next();
+        iterator.remove();
+        evictions++;
+    }
+
+    public record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.server.cache;
+
+import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
+import com.example.server.util.TextNormalizer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nominatim results keyed by the normalized search query.
+ * <p>
+ * Queries that found nothing are cached too, for a shorter time, so repeated typos do not reach
+ * Nominatim either. The cache is written to a local file on shutdown and every
+ * {@value #FLUSH_EVERY} new entries, and read back on startup.
+ */
+@Slf4j
+@Component
+public class GeocodingCache {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ExpiringLruCache<String, List<OpenStreetMapSearchResponse>> cache;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicInteger unsaved = new AtomicInteger();
+
+    public GeocodingCache(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${openstreetmap.cache.max-entries}") int maxEntries,
+                          @Value("${openstreetmap.cache.ttl}") Duration ttl,
+                          @Value("${openstreetmap.cache.negative-ttl}") Duration negativeTtl,
+                          @Value("${openstreetmap.cache.file}") String file) {
+        this.cache = new ExpiringLruCache<>(maxEntries);
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.hits = Counter.builder("openstreetmap.cache.requests").tag("result", "hit")
+                .description("Geocoding lookups answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("openstreetmap.cache.requests").tag("result", "miss")
+                .description("Geocoding lookups that had to call Nominatim")
+                .register(meterRegistry);
+        FunctionCounter.builder("openstreetmap.cache.evictions", cache, ExpiringLruCache::evictions)
+                .description("Live entries evicted to keep the cache within its size limit")
+                .register(meterRegistry);
+        Gauge.builder("openstreetmap.cache.size", cache, ExpiringLruCache::size)
+                .description("Entries held in the geocoding cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached results for the query, or {@code null} when Nominatim has to be asked.
+     */
+    public List<OpenStreetMapSearchResponse> get(String query) {
+        List<OpenStreetMapSearchResponse> results = cache.get(TextNormalizer.normalize(query));
+        (results == null ? misses : hits).increment();
+        return results;
+    }
+
+    public void put(String query, List<OpenStreetMapSearchResponse> results) {
+        Duration lifetime = results.isEmpty() ? negativeTtl : ttl;
+        cache.put(TextNormalizer.normalize(query), List.copyOf(results), System.currentTimeMillis() + lifetime.toMillis());
+        if (unsaved.incrementAndGet() >= FLUSH_EVERY) {
+            save();
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            List<StoredEntry> stored = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+            });
+            long now = System.currentTimeMillis();
+            for (StoredEntry entry : stored) {
+                if (entry.expiresAt() > now && entry.query() != null && entry.results() != null) {
+                    cache.put(entry.query(), List.copyOf(entry.results()), entry.expiresAt());
+                }
+            }
+            log.info("Loaded {} geocoding cache entries from {}", cache.size(), file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable geocoding cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void save() {
+        unsaved.set(0);
+        List<StoredEntry> stored = cache.snapshot().stream()
+                .map(GeocodingCache::toStoredEntry)
+                .toList();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "geocoding", ".tmp");
+            objectMapper.writeValue(temp.toFile(), stored);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save geocoding cache to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static StoredEntry toStoredEntry(Map.Entry<String, ExpiringLruCache.Entry<List<OpenStreetMapSearchResponse>>> entry) {
+        return new StoredEntry(entry.getKey(), entry.getValue().expiresAt(), entry.getValue().value());
+    }
+
+    record StoredEntry(String query, long expiresAt, List<OpenStreetMapSearchResponse> results) {
+    }
+}
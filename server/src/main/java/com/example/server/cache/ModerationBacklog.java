@@ -0,0 +1,33 @@
+package com.example.server.cache;
+
+import com.example.server.repository.AppCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Number of places awaiting moderation, kept in {@code app_counters} so the moderation queue
+ * does not count the backlog on every page. Every write that creates, approves or deletes an
+ * unapproved place adjusts it in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModerationBacklog {
+
+    private static final String COUNTER = "places.unapproved";
+
+    private final AppCounterRepository appCounterRepository;
+
+    public long current() {
+        return Math.max(0, appCounterRepository.findValue(COUNTER).orElse(0L));
+    }
+
+    /**
+     * Must be called inside the transaction that adds or removes unapproved places, as late in it
+     * as possible, since the counter row stays locked until commit.
+     */
+    public void add(long delta) {
+        if (delta != 0) {
+            appCounterRepository.add(COUNTER, delta);
+        }
+    }
+}
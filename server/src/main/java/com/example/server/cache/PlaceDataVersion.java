@@ -0,0 +1,81 @@
+package com.example.server.cache;
+
+import com.example.server.repository.AppCounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of everything the place listings show, kept in {@code app_counters} so that every
+ * instance agrees on it.
+ * <p>
+ * Writers bump the counter inside their own transaction. Readers get a copy that is re-read from
+ * the database at most once per refresh interval, so checking the version costs nothing on most
+ * requests; a commit on this instance discards the copy at once, so its own writes are never
+ * answered with a stale version, and writes on other instances are seen within one interval.
+ */
+@Component
+public class PlaceDataVersion {
+
+    private static final String COUNTER = "places.version";
+
+    private final AppCounterRepository appCounterRepository;
+    private final long refreshNanos;
+    private final AtomicLong localCommits = new AtomicLong();
+
+    private volatile long version;
+    private volatile long expiresAt;
+    private volatile long refreshedAtCommit = -1;
+
+    public PlaceDataVersion(AppCounterRepository appCounterRepository,
+                            @Value("${places.version.refresh-interval}") Duration refreshInterval) {
+        this.appCounterRepository = appCounterRepository;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    public long current() {
+        if (isFresh()) {
+            return version;
+        }
+        synchronized (this) {
+            if (isFresh()) {
+                return version;
+            }
+            // Counted before reading, so a commit that lands during the read forces another one
+            long commits = localCommits.get();
+            version = appCounterRepository.findValue(COUNTER).orElse(0L);
+            expiresAt = System.nanoTime() + refreshNanos;
+            refreshedAtCommit = commits;
+            return version;
+        }
+    }
+
+    private boolean isFresh() {
+        return refreshedAtCommit == localCommits.get() && System.nanoTime() - expiresAt < 0;
+    }
+
+    /**
+     * Strong entity tag for a representation built from the current place data.
+     */
+    public String etag() {
+        return "\"places-" + current() + "\"";
+    }
+
+    /**
+     * Moves the version on; must be called inside the transaction that changes place data, and
+     * as late in it as possible, since the counter row stays locked until commit.
+     */
+    public void bump() {
+        appCounterRepository.increment(COUNTER);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                localCommits.incrementAndGet();
+            }
+        });
+    }
+}
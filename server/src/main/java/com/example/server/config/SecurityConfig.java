@@ -48,8 +48,21 @@ public class SecurityConfig {
             "/api/v1/v3/api-docs/**",
             "/swagger-ui/**",
             "/api/v1/places/all",
+            "/api/v1/places/all/stream",
+            "/api/v1/places/viewport",
+            "/api/v1/places/clusters",
+            "/api/v1/places/nearby",
+            "/api/v1/places/nearest",
+            "/api/v1/places/facets",
+            "/api/v1/places/tiles/**",
+            "/api/v1/places/snapshot",
+            "/api/v1/places/changes",
+            "/api/v1/places/stream",
             "/api/v1/places/{id}",
+            "/api/v1/routes/accessible",
             "/api/v1/reviews/all",
+            "/api/v1/reviews/all/stream",
+            "/api/v1/reviews/page",
             "/api/v1/reviews/{id}",
             "/api/v1/reviews/user/{userId}",
             "/api/v1/reviews/place/{placeId}"
@@ -1,10 +1,16 @@
 package com.example.server.controller;
 
 import com.example.server.dto.common.PageResponse;
+import com.example.server.dto.place.PlaceImportJobResponse;
+import com.example.server.dto.place.PlaceModerationQueueResponse;
+import com.example.server.dto.place.PlaceModerationRequest;
+import com.example.server.dto.place.PlaceModerationResponse;
 import com.example.server.dto.place.PlaceResponse;
 import com.example.server.dto.user.AuthResponse;
 import com.example.server.dto.user.UserRequest;
+import com.example.server.enums.ImportFormat;
 import com.example.server.service.AuthService;
+import com.example.server.service.PlaceImportService;
 import com.example.server.service.PlaceService;
 import com.example.server.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,16 +19,22 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/admin")
 @RequiredArgsConstructor
 @Tag(name = "Admin", description = "Admin management API")
 public class AdminController {
     private final PlaceService placeService;
+    private final PlaceImportService placeImportService;
 
     @GetMapping("/places/unapproved")
     @PreAuthorize("hasRole('ADMIN')")
@@ -33,9 +45,60 @@ public class AdminController {
         return ResponseEntity.ok(placeService.getUnapprovedPlaces(pageable));
     }
 
+    @GetMapping("/places/moderation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceModerationQueueResponse> getModerationQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(placeService.getModerationQueue(cursor, size));
+    }
+
     @PostMapping("/places/{id}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PlaceResponse> approvePlace(@PathVariable Long id) {
         return ResponseEntity.ok(placeService.approvePlace(id));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/places/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceModerationResponse> approvePlaces(@Valid @RequestBody PlaceModerationRequest request) {
+        return ResponseEntity.ok(placeService.approvePlaces(request));
+    }
+
+    @PostMapping("/places/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceModerationResponse> rejectPlaces(@Valid @RequestBody PlaceModerationRequest request) {
+        return ResponseEntity.ok(placeService.rejectPlaces(request));
+    }
+
+    @PostMapping(value = "/places/import", consumes = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceImportJobResponse> importPlaces(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream content) throws IOException {
+        return ResponseEntity.accepted().body(placeImportService.startImport(toImportFormat(contentType), content));
+    }
+
+    @GetMapping("/places/import/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceImportJobResponse> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(placeImportService.getImportJob(id));
+    }
+
+    @PostMapping("/places/import/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PlaceImportJobResponse> resumeImport(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(placeImportService.resumeImport(id));
+    }
+
+    private static ImportFormat toImportFormat(MediaType contentType) {
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return ImportFormat.NDJSON;
+        }
+        if (contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return ImportFormat.CSV;
+        }
+        return ImportFormat.JSON;
+    }
+}
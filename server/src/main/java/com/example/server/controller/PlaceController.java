@@ -1,12 +1,23 @@
 package com.example.server.controller;
 
+import com.example.server.cache.PlaceDataVersion;
+import com.example.server.dto.common.CursorPageResponse;
 import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
+import com.example.server.dto.place.PlaceBoundsDto;
+import com.example.server.dto.place.PlaceChangesResponse;
+import com.example.server.dto.place.PlaceClusterResponse;
+import com.example.server.dto.place.PlaceDistanceDto;
+import com.example.server.dto.place.PlaceFacetsResponse;
 import com.example.server.dto.place.PlaceFilterDto;
 import com.example.server.dto.place.PlaceRequest;
 import com.example.server.dto.place.PlaceResponse;
 import com.example.server.dto.place.PlaceUpdateRequest;
+import com.example.server.index.PlaceClusterIndex;
+import com.example.server.index.PlaceSnapshot;
 import com.example.server.service.OpenStreetMapService;
+import com.example.server.service.PlaceChangeService;
 import com.example.server.service.PlaceService;
+import com.example.server.service.PlaceStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +25,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -27,33 +45,227 @@ import java.util.List;
 @RequiredArgsConstructor
 @Tag(name = "Places", description = "Places management API")
 public class PlaceController {
+    private static final String MVT_MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
     private final PlaceService placeService;
     private final OpenStreetMapService openStreetMapService;
+    private final PlaceChangeService placeChangeService;
+    private final PlaceStreamService placeStreamService;
+    private final PlaceDataVersion placeDataVersion;
 
-    @Operation(summary = "Get all places", description = "Returns a list of all places with optional filters")
+    @Operation(summary = "Get all places", description = "Returns a page of approved places with optional filters, ordered by ID. " +
+            "Pass the returned nextCursor as cursor to fetch the following page. Supports If-None-Match.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved places"),
+            @ApiResponse(responseCode = "304", description = "Places unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @GetMapping("/all")
-    public ResponseEntity<List<PlaceResponse>> getAllPlaces(
+    public ResponseEntity<CursorPageResponse<PlaceResponse>> getAllPlaces(
+            @Parameter(description = "Filter and pagination parameters")
+            @Valid @ModelAttribute PlaceFilterDto filter,
+            WebRequest request
+    ) {
+        // Checked before loading anything, so an unchanged listing costs no query at all
+        if (request.checkNotModified(placeDataVersion.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(placeService.getAllPlaces(filter));
+    }
+
+    @Operation(summary = "Stream all places", description = "Returns every approved place matching the filters as one JSON array, " +
+            "ordered by ID and written while it is read from the database. A cursor resumes after that ID; size is ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully streamed places"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor")
+    })
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamAllPlaces(
             @Parameter(description = "Filter parameters")
-            @ModelAttribute PlaceFilterDto filter
+            @Valid @ModelAttribute PlaceFilterDto filter,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        placeService.writeAllPlaces(filter, response.getOutputStream());
+    }
+
+    @Operation(summary = "Get places in viewport", description = "Returns approved places inside the given bounding box")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved places"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box")
+    })
+    @GetMapping("/viewport")
+    public ResponseEntity<List<PlaceResponse>> getPlacesInViewport(
+            @Parameter(description = "Bounding box and optional result limit")
+            @Valid @ModelAttribute PlaceBoundsDto bounds
     ) {
-        return ResponseEntity.ok(placeService.getAllPlaces(filter));
+        return ResponseEntity.ok(placeService.getPlacesInBounds(bounds));
     }
 
-    @Operation(summary = "Get place by ID", description = "Returns a place by its ID")
+    @Operation(summary = "Get place clusters", description = "Groups approved places inside the bounding box into grid clusters " +
+            "for the given zoom level. Single places, and all places from zoom " + PlaceClusterIndex.MAX_CLUSTER_ZOOM + ", are returned individually.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully clustered places"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box or zoom")
+    })
+    @GetMapping("/clusters")
+    public ResponseEntity<PlaceClusterResponse> getPlaceClusters(
+            @Parameter(description = "Bounding box as minLon,minLat,maxLon,maxLat")
+            @RequestParam String bbox,
+            @Parameter(description = "Map zoom level, 0-22")
+            @RequestParam int zoom
+    ) {
+        return ResponseEntity.ok(placeService.getPlaceClusters(bbox, zoom));
+    }
+
+    @Operation(summary = "Get nearby places", description = "Returns approved places within the radius of a point, nearest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved places"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or limit")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<PlaceDistanceDto>> getPlacesNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @Parameter(description = "Search radius in metres, up to 50 km")
+            @RequestParam(defaultValue = "1000") double radius,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(placeService.getPlacesNearby(lat, lon, radius, limit));
+    }
+
+    @Operation(summary = "Get nearest places", description = "Returns the k approved places nearest to a point that have " +
+            "all the requested accessibility features and one of the requested categories, nearest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved places"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, k, feature or category")
+    })
+    @GetMapping("/nearest")
+    public ResponseEntity<List<PlaceDistanceDto>> getNearestPlaces(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @Parameter(description = "Number of places, up to 100")
+            @RequestParam(defaultValue = "10") int k,
+            @Parameter(description = "Comma separated accessibility features that must all be present, e.g. ACCESSIBLE_TOILETS")
+            @RequestParam(required = false) String features,
+            @Parameter(description = "Comma separated categories, any of which matches")
+            @RequestParam(required = false) String category
+    ) {
+        return ResponseEntity.ok(placeService.getNearestPlaces(lat, lon, k, features, category));
+    }
+
+    @Operation(summary = "Get place facet counts", description = "Returns how many approved places match the filter, " +
+            "how many of them have each accessibility feature, and how many each category holds under the feature filter alone")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted places"),
+            @ApiResponse(responseCode = "400", description = "Invalid feature or category")
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<PlaceFacetsResponse> getPlaceFacets(
+            @Parameter(description = "Comma separated accessibility features that must all be present; " +
+                    "| separates alternatives, e.g. WHEELCHAIR_ACCESSIBLE,TACTILE_ELEMENTS|BRAILLE_SIGNAGE")
+            @RequestParam(required = false) String features,
+            @Parameter(description = "Comma separated categories, any of which matches")
+            @RequestParam(required = false) String category
+    ) {
+        return ResponseEntity.ok(placeService.getPlaceFacets(features, category));
+    }
+
+    @Operation(summary = "Get places vector tile", description = "Returns approved places in the Web Mercator tile z/x/y " +
+            "as a Mapbox Vector Tile with a single \"places\" point layer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated tile"),
+            @ApiResponse(responseCode = "400", description = "Tile coordinates out of range")
+    })
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = MVT_MEDIA_TYPE)
+    public ResponseEntity<byte[]> getPlaceTile(
+            @PathVariable int z,
+            @PathVariable long x,
+            @PathVariable long y
+    ) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .body(placeService.getPlaceTile(z, x, y));
+    }
+
+    @Operation(summary = "Get places snapshot", description = "Returns all approved places in the compact binary snapshot format " +
+            "for offline use. The ETag changes only when the places do; supports If-None-Match.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved snapshot"),
+            @ApiResponse(responseCode = "304", description = "Snapshot unchanged since the given ETag")
+    })
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getPlaceSnapshot(WebRequest request) {
+        PlaceSnapshot snapshot = placeService.getPlaceSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.getBytes());
+    }
+
+    @Operation(summary = "Get place changes", description = "Returns approved places changed after the given version as upserts, " +
+            "and deleted or unapproved ones as tombstones, in version order. Start from 0 for a full sync and pass nextSince " +
+            "back on the next call. When resyncRequired is set, start again from 0.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid version or limit")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<PlaceChangesResponse> getPlaceChanges(
+            @Parameter(description = "Version of the last change already applied, 0 for none")
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(placeChangeService.getChangesSince(since, limit));
+    }
+
+    @Operation(summary = "Stream place changes", description = "Server-Sent Events feed of place changes. Each \"place\" event " +
+            "carries the same upsert or tombstone as /places/changes, with its version as event ID. Upserts can be limited " +
+            "to a bounding box and categories; tombstones are always sent. Reconnect with Last-Event-ID (or since) to resume; " +
+            "a \"resync\" event means the gap was too large and must be fetched from /places/changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box, category or version"),
+            @ApiResponse(responseCode = "409", description = "Too many open streams")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamPlaceChanges(
+            @Parameter(description = "Bounding box as minLon,minLat,maxLon,maxLat")
+            @RequestParam(required = false) String bbox,
+            @Parameter(description = "Comma-separated categories")
+            @RequestParam(required = false) String category,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Version to resume after, for clients that cannot send Last-Event-ID")
+            @RequestParam(required = false) Long since,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        placeStreamService.subscribe(bbox, category, lastEventId != null ? lastEventId : since, request, response);
+    }
+
+    @Operation(summary = "Get place by ID", description = "Returns a place by its ID. Supports If-None-Match.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved place"),
+            @ApiResponse(responseCode = "304", description = "Place unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Place not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<PlaceResponse> getPlaceById(
             @Parameter(description = "ID of the place to retrieve")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(placeService.getPlaceById(id));
+        if (request.checkNotModified(placeDataVersion.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(placeService.getPlaceById(id));
     }
 
     @Operation(summary = "Create new place", description = "Creates a new place")
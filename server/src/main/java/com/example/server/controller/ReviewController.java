@@ -1,5 +1,7 @@
 package com.example.server.controller;
 
+import com.example.server.dto.common.CursorPageResponse;
+import com.example.server.dto.review.ReviewFilterDto;
 import com.example.server.dto.review.ReviewRequest;
 import com.example.server.dto.review.ReviewResponse;
 import com.example.server.dto.review.ReviewUpdateRequest;
@@ -11,12 +13,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -37,6 +42,28 @@ public class ReviewController {
         return reviewService.getAllReviews();
     }
 
+    @Operation(summary = "Stream all reviews", description = "Returns all reviews newest first as one JSON array, " +
+            "written while it is read from the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully streamed reviews")
+    })
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamAllReviews(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        reviewService.writeAllReviews(response.getOutputStream());
+    }
+
+    @Operation(summary = "Get reviews page",
+            description = "Returns reviews newest or highest rated first, optionally for one place or user, using cursor-based pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved reviews"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/page")
+    public CursorPageResponse<ReviewResponse> getReviewPage(@Valid @ModelAttribute ReviewFilterDto filter) {
+        return reviewService.getReviewPage(filter);
+    }
+
     @Operation(summary = "Get reviews by place ID", description = "Returns a list of reviews for a specific place")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved reviews"),
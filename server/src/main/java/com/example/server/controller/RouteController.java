@@ -0,0 +1,43 @@
+package com.example.server.controller;
+
+import com.example.server.dto.route.RouteResponse;
+import com.example.server.service.RoutingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/routes")
+@RequiredArgsConstructor
+@Tag(name = "Routes", description = "Accessible pedestrian routing API")
+public class RouteController {
+
+    private final RoutingService routingService;
+
+    @Operation(summary = "Get an accessible route", description = "Returns the walking route between two points that " +
+            "avoids steps, high kerbs, rough surfaces and steep inclines where it can, computed offline from the OSM extract")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully found a route"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates"),
+            @ApiResponse(responseCode = "404", description = "No walkable path near a point or no route between them"),
+            @ApiResponse(responseCode = "409", description = "Routing graph is not loaded"),
+            @ApiResponse(responseCode = "503", description = "Every route search is busy; retry shortly")
+    })
+    @GetMapping("/accessible")
+    public ResponseEntity<RouteResponse> getAccessibleRoute(
+            @Parameter(description = "Start point as lat,lon")
+            @RequestParam String from,
+            @Parameter(description = "Destination as lat,lon")
+            @RequestParam String to
+    ) {
+        return ResponseEntity.ok(routingService.getAccessibleRoute(from, to));
+    }
+}
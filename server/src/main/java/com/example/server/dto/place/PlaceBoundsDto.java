@@ -0,0 +1,37 @@
+package com.example.server.dto.place;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PlaceBoundsDto {
+    @NotNull(message = "Minimum latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be greater than or equal to -90")
+    @DecimalMax(value = "90.0", message = "Latitude must be less than or equal to 90")
+    private BigDecimal minLat;
+
+    @NotNull(message = "Minimum longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be greater than or equal to -180")
+    @DecimalMax(value = "180.0", message = "Longitude must be less than or equal to 180")
+    private BigDecimal minLon;
+
+    @NotNull(message = "Maximum latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be greater than or equal to -90")
+    @DecimalMax(value = "90.0", message = "Latitude must be less than or equal to 90")
+    private BigDecimal maxLat;
+
+    @NotNull(message = "Maximum longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be greater than or equal to -180")
+    @DecimalMax(value = "180.0", message = "Longitude must be less than or equal to 180")
+    private BigDecimal maxLon;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 2000, message = "Limit must be at most 2000")
+    private Integer limit = 500;
+}
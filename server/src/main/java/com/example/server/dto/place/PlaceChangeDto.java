@@ -0,0 +1,19 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceChangeDto {
+    private long version;
+    private Long placeId;
+
+    // Set when the place was deleted; place is null then
+    private boolean deleted;
+    private PlaceResponse place;
+}
@@ -0,0 +1,21 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceChangesResponse {
+    private List<PlaceChangeDto> changes;
+    private long nextSince;
+    private boolean hasMore;
+
+    // The requested version is older than the retained tombstones; sync again from 0
+    private boolean resyncRequired;
+}
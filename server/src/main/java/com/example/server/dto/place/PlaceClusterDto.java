@@ -0,0 +1,20 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceClusterDto {
+    private double lat;
+    private double lon;
+    private int count;
+    private int wheelchairAccessible;
+    private int tactileElements;
+    private int brailleSignage;
+    private int accessibleToilets;
+}
@@ -0,0 +1,18 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceClusterResponse {
+    private int zoom;
+    private List<PlaceClusterDto> clusters;
+    private List<PlaceMarkerDto> places;
+}
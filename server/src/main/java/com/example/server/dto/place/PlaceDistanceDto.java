@@ -0,0 +1,15 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceDistanceDto {
+    private PlaceMarkerDto place;
+    private double distanceMeters;
+}
@@ -0,0 +1,20 @@
+package com.example.server.dto.place;
+
+import com.example.server.entity.PlaceCategory;
+import com.example.server.enums.AccessibilityFeature;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceFacetsResponse {
+    private int total;
+    private Map<PlaceCategory, Integer> categories;
+    private Map<AccessibilityFeature, Integer> features;
+}
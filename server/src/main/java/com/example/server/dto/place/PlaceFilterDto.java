@@ -1,9 +1,16 @@
 package com.example.server.dto.place;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.Data;
 
 @Data
 public class PlaceFilterDto {
     private String category;
     private String accessibility;
-} 
\ No newline at end of file
+    private String cursor;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 500, message = "Size must be at most 500")
+    private Integer size = 100;
+}
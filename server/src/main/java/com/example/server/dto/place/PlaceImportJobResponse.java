@@ -0,0 +1,31 @@
+package com.example.server.dto.place;
+
+import com.example.server.enums.ImportFormat;
+import com.example.server.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceImportJobResponse {
+    private Long id;
+    private ImportJobStatus status;
+    private ImportFormat format;
+    private long processedRows;
+    private long insertedRows;
+    private long failedRows;
+    private String message;
+
+    // The first rejected rows in file order; failedRows counts all of them
+    private List<PlaceImportErrorDto> errors;
+
+    private Long createdAt;
+    private Long updatedAt;
+    private Long finishedAt;
+}
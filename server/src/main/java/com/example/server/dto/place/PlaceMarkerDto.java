@@ -0,0 +1,24 @@
+package com.example.server.dto.place;
+
+import com.example.server.entity.PlaceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceMarkerDto {
+    private Long id;
+    private String name;
+    private double lat;
+    private double lon;
+    private PlaceCategory category;
+    private boolean wheelchairAccessible;
+    private boolean tactileElements;
+    private boolean brailleSignage;
+    private boolean accessibleToilets;
+    private double overallAccessibilityScore;
+}
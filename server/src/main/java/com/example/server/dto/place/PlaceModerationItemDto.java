@@ -0,0 +1,32 @@
+package com.example.server.dto.place;
+
+import com.example.server.entity.PlaceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A place awaiting moderation, read straight from the places table without touching reviews or
+ * the creator's user row; the constructor argument order is used by a JPQL projection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceModerationItemDto {
+    private Long id;
+    private String name;
+    private String address;
+    private BigDecimal lat;
+    private BigDecimal lon;
+    private PlaceCategory category;
+    private boolean wheelchairAccessible;
+    private boolean tactileElements;
+    private boolean brailleSignage;
+    private boolean accessibleToilets;
+    private Long createdAt;
+    private Long createdBy;
+}
@@ -0,0 +1,21 @@
+package com.example.server.dto.place;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceModerationQueueResponse {
+    private List<PlaceModerationItemDto> content;
+    private int size;
+    private String nextCursor;
+
+    // All places awaiting moderation, not just the ones after the cursor
+    private long backlog;
+}
@@ -0,0 +1,28 @@
+package com.example.server.dto.place;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selects places awaiting moderation, either by ID or by filter; filter fields are combined and
+ * ignored when IDs are given. Places that are already approved are never selected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceModerationRequest {
+    @Size(max = 10000, message = "At most 10000 IDs can be moderated at once")
+    private List<Long> ids;
+
+    // Comma separated categories
+    private String category;
+    private Long createdBy;
+    private Long createdFrom;
+    private Long createdTo;
+}
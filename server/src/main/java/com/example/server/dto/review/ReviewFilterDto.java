@@ -0,0 +1,18 @@
+package com.example.server.dto.review;
+
+import com.example.server.enums.ReviewSort;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class ReviewFilterDto {
+    private Long placeId;
+    private Long userId;
+    private ReviewSort sort = ReviewSort.CREATED_AT;
+    private String cursor;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size must be at most 100")
+    private Integer size = 20;
+}
@@ -0,0 +1,13 @@
+package com.example.server.dto.review;
+
+import lombok.Value;
+
+/**
+ * A {@link ReviewRow} paired with one role of its author, or with {@code null} when the author
+ * has none; a review with several author roles comes as several consecutive rows.
+ */
+@Value
+public class ReviewRoleRow {
+    ReviewRow review;
+    Integer userRole;
+}
@@ -0,0 +1,25 @@
+package com.example.server.dto.review;
+
+import com.example.server.entity.PlaceCategory;
+import lombok.Value;
+
+/**
+ * One review with exactly the place and author columns a {@link ReviewResponse} shows,
+ * selected in a single query instead of loading the entities.
+ */
+@Value
+public class ReviewRow {
+    Long id;
+    Integer rating;
+    String comment;
+    Long createdAt;
+    Long updatedAt;
+    Long placeId;
+    String placeName;
+    String placeAddress;
+    PlaceCategory placeCategory;
+    Long userId;
+    String userEmail;
+    String userFirstName;
+    String userLastName;
+}
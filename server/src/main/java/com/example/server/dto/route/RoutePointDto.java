@@ -0,0 +1,15 @@
+package com.example.server.dto.route;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePointDto {
+    private double lat;
+    private double lon;
+}
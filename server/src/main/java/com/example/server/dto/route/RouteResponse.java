@@ -0,0 +1,18 @@
+package com.example.server.dto.route;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteResponse {
+    private double distanceMeters;
+    private double cost;
+    private List<RoutePointDto> points;
+}
@@ -62,6 +62,12 @@ public class Place {
     @Column(name = "approved")
     private boolean approved;
 
+    @Column(name = "review_count", nullable = false, insertable = false, updatable = false)
+    private int reviewCount;
+
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private long ratingSum;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_user_id", nullable = false)
     private User createdBy;
@@ -74,6 +80,10 @@ public class Place {
         updateScore();
     }
 
+    public Double getAverageRating() {
+        return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+    }
+
     public void updateScore() {
         updatedAt = System.currentTimeMillis();
         
@@ -0,0 +1,36 @@
+package com.example.server.entity;
+
+import com.example.server.event.PlaceChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the place change log read by {@code /places/changes}. The ID doubles as the
+ * version clients sync from; the place itself may no longer exist.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "place_changes")
+public class PlaceChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "place_id", nullable = false)
+    private Long placeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private PlaceChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private Long changedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an import that was rejected, with the reasons joined into one message.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "place_import_errors")
+public class PlaceImportError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_index", nullable = false)
+    private Long rowNumber;
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+}
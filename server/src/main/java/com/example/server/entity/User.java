@@ -45,9 +45,6 @@ public class User implements UserDetails {
     @Column(name = "modified_date", nullable = false)
     private Long modifiedDate;
 
-    @Column(name = "refresh_token")
-    private String refreshToken;
-
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
         name = "user_roles",
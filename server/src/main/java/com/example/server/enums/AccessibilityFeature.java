@@ -0,0 +1,27 @@
+package com.example.server.enums;
+
+import com.example.server.entity.Place;
+
+public enum AccessibilityFeature {
+    WHEELCHAIR_ACCESSIBLE,
+    TACTILE_ELEMENTS,
+    BRAILLE_SIGNAGE,
+    ACCESSIBLE_TOILETS;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public boolean isSet(int features) {
+        return (features & mask()) != 0;
+    }
+
+    public static int maskOf(Place place) {
+        int features = 0;
+        if (place.isWheelchairAccessible()) features |= WHEELCHAIR_ACCESSIBLE.mask();
+        if (place.isTactileElements()) features |= TACTILE_ELEMENTS.mask();
+        if (place.isBrailleSignage()) features |= BRAILLE_SIGNAGE.mask();
+        if (place.isAccessibleToilets()) features |= ACCESSIBLE_TOILETS.mask();
+        return features;
+    }
+}
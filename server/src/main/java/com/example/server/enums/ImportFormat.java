@@ -0,0 +1,20 @@
+package com.example.server.enums;
+
+/**
+ * Input formats accepted by the bulk place import, each with the content type it is uploaded as.
+ */
+public enum ImportFormat {
+    JSON("json"),
+    NDJSON("ndjson"),
+    CSV("csv");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
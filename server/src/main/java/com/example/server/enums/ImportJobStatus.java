@@ -0,0 +1,11 @@
+package com.example.server.enums;
+
+/**
+ * Lifecycle of a bulk place import; a failed job can be resumed from its last committed batch.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.example.server.enums;
+
+/**
+ * Orders of paged review listings; both are descending, ties broken by newest id.
+ */
+public enum ReviewSort {
+    CREATED_AT,
+    RATING
+}
@@ -0,0 +1,8 @@
+package com.example.server.event;
+
+public enum PlaceChangeType {
+    CREATED,
+    UPDATED,
+    APPROVED,
+    DELETED
+}
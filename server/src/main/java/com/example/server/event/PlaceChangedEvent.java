@@ -0,0 +1,31 @@
+package com.example.server.event;
+
+import com.example.server.entity.Place;
+import com.example.server.index.PlacePoint;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code PlaceServiceImpl} inside the writing transaction; listeners that keep
+ * in-memory copies of places consume it after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlaceChangedEvent {
+    private final PlaceChangeType type;
+    private final Long placeId;
+
+    /**
+     * State of the place after the change, or {@code null} when it is deleted or not approved
+     * and therefore must not be visible on the map.
+     */
+    private final PlacePoint point;
+
+    public static PlaceChangedEvent of(PlaceChangeType type, Place place) {
+        return new PlaceChangedEvent(type, place.getId(), place.isApproved() ? PlacePoint.from(place) : null);
+    }
+
+    public static PlaceChangedEvent deleted(Long placeId) {
+        return new PlaceChangedEvent(PlaceChangeType.DELETED, placeId, null);
+    }
+}
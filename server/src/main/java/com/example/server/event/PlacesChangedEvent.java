@@ -0,0 +1,16 @@
+package com.example.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes of many places committed together by a bulk operation. Listeners treat it like the
+ * {@link PlaceChangedEvent}s it holds, but apply them in one go.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlacesChangedEvent {
+    private final List<PlaceChangedEvent> changes;
+}
@@ -0,0 +1,19 @@
+package com.example.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code UserServiceImpl} when a user's email or roles change or the user is
+ * deleted; caches of authenticated principals drop the user after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+
+    /**
+     * Email the user had before the change, which is what older tokens carry as subject.
+     */
+    private final String email;
+}
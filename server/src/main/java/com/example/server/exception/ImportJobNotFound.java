@@ -0,0 +1,14 @@
+package com.example.server.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ImportJobNotFound extends RuntimeException {
+    private final HttpStatus status;
+
+    public ImportJobNotFound(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.server.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class RouteNotFound extends RuntimeException {
+    private final HttpStatus status;
+
+    public RouteNotFound(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+}
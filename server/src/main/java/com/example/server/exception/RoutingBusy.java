@@ -0,0 +1,14 @@
+package com.example.server.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class RoutingBusy extends RuntimeException {
+    private final HttpStatus status;
+
+    public RoutingBusy(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.server.exception.handler;
 
 import com.example.server.exception.AuthenticationException;
+import com.example.server.exception.ImportJobNotFound;
 import com.example.server.exception.PlaceNotFound;
 import com.example.server.exception.ReviewNotFound;
+import com.example.server.exception.RouteNotFound;
+import com.example.server.exception.RoutingBusy;
 import com.example.server.exception.UserNotFound;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -38,7 +42,8 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
     }
 
-    @ExceptionHandler({UserNotFound.class, PlaceNotFound.class, ReviewNotFound.class})
+    @ExceptionHandler({UserNotFound.class, PlaceNotFound.class, ReviewNotFound.class, ImportJobNotFound.class,
+            RouteNotFound.class})
     public ResponseEntity<?> handleNotFoundException(RuntimeException e) {
         Map<String, String> response = new HashMap<>();
         response.put("message", e.getMessage());
@@ -46,6 +51,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RoutingBusy.class)
+    public ResponseEntity<?> handleRoutingBusy(RoutingBusy e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        log.warn("Routing busy: {}", e.getMessage());
+        return ResponseEntity.status(e.getStatus()).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<?> handleValidationException(ValidationException e) {
         Map<String, String> response = new HashMap<>();
@@ -0,0 +1,110 @@
+package com.example.server.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV whose header row names the {@code PlaceRequest} fields, e.g.
+ * {@code name,address,lat,lon,wheelchairAccessible,category}. Columns may come in any order,
+ * unknown ones are ignored and empty cells are left unset. Rows are numbered from the first
+ * record after the header.
+ */
+class CsvPlaceRowReader implements PlaceRowReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final List<String> header;
+    private long number;
+
+    CsvPlaceRowReader(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        List<String> columns = readRecord();
+        if (columns == null) {
+            reader.close();
+            throw new IOException("CSV file has no header row");
+        }
+        if (!columns.isEmpty() && !columns.get(0).isEmpty() && columns.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            columns.set(0, columns.get(0).substring(1));
+        }
+        this.header = columns.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public PlaceRow next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+        number++;
+
+        if (values.size() > header.size()) {
+            return PlaceRow.failed(number, "Row has " + values.size() + " cells but the header has " + header.size());
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                node.put(header.get(i), values.get(i));
+            }
+        }
+        return PlaceRow.convert(number, node, objectMapper);
+    }
+
+    // Quoted cells may contain commas, line breaks and doubled quotes
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted cell after row " + number);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        cell.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                cells.add(cell.toString());
+                return cells;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.server.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A JSON array of place objects, as accepted by {@code POST /places}. Each element is read as a
+ * tree first, so a field of the wrong type fails only its own row.
+ */
+class JsonPlaceRowReader implements PlaceRowReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private long number;
+
+    JsonPlaceRowReader(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.createParser(Files.newInputStream(file));
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array of places");
+        }
+    }
+
+    @Override
+    public PlaceRow next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        number++;
+        JsonNode node = parser.readValueAsTree();
+        return PlaceRow.convert(number, node, objectMapper);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.server.importer;
+
+import com.example.server.dto.place.PlaceRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+
+/**
+ * One row of an import file: either the place it describes or why it could not be read.
+ * Rows are numbered as a person looking at the file would count them.
+ */
+@Value
+public class PlaceRow {
+    long number;
+    PlaceRequest request;
+    String error;
+
+    static PlaceRow failed(long number, String error) {
+        return new PlaceRow(number, null, error);
+    }
+
+    static PlaceRow convert(long number, JsonNode node, ObjectMapper objectMapper) {
+        if (node == null || !node.isObject()) {
+            return failed(number, "Expected an object with place fields");
+        }
+        try {
+            return new PlaceRow(number, objectMapper.treeToValue(node, PlaceRequest.class), null);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            return failed(number, field == null ? e.getOriginalMessage() : "Invalid " + field + ": " + e.getOriginalMessage());
+        } catch (JsonProcessingException e) {
+            return failed(number, e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.server.importer;
+
+import com.example.server.enums.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads the rows of an import file one at a time, so files of any size are imported in constant
+ * memory. A row that cannot be turned into a place is returned with an error and reading goes
+ * on; input too broken to find the next row in fails the whole read with an {@link IOException}.
+ */
+public interface PlaceRowReader extends Closeable {
+
+    /**
+     * The next row, or {@code null} at the end of the file.
+     */
+    PlaceRow next() throws IOException;
+
+    static PlaceRowReader open(ImportFormat format, Path file, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonPlaceRowReader(file, objectMapper);
+            case NDJSON -> new NdjsonPlaceRowReader(file, objectMapper);
+            case CSV -> new CsvPlaceRowReader(file, objectMapper);
+        };
+    }
+}
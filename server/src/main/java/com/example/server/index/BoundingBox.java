@@ -0,0 +1,36 @@
+package com.example.server.index;
+
+import lombok.Value;
+
+@Value
+public class BoundingBox {
+    double minLat;
+    double minLon;
+    double maxLat;
+    double maxLon;
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+
+    /**
+     * Parses a {@code minLon,minLat,maxLon,maxLat} string, the order used by GeoJSON and OSM.
+     */
+    public static BoundingBox parse(String bbox) {
+        if (bbox == null) {
+            throw new IllegalArgumentException("Bounding box is required");
+        }
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minLon,minLat,maxLon,maxLat");
+        }
+        double minLon = Double.parseDouble(parts[0].trim());
+        double minLat = Double.parseDouble(parts[1].trim());
+        double maxLon = Double.parseDouble(parts[2].trim());
+        double maxLat = Double.parseDouble(parts[3].trim());
+        if (minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180 || minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Bounding box is out of range: " + bbox);
+        }
+        return new BoundingBox(minLat, minLon, maxLat, maxLon);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.server.index;
+
+import com.example.server.dto.place.PlaceClusterDto;
+import com.example.server.dto.place.PlaceClusterResponse;
+import com.example.server.dto.place.PlaceMarkerDto;
+import com.example.server.enums.AccessibilityFeature;
+import com.example.server.mapper.PlaceMapper;
+import com.example.server.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Grid clustering of approved places over Web Mercator cells.
+ * <p>
+ * Places are kept sorted by their Z-order (Morton) code, so the places of any grid cell at any
+ * zoom form one contiguous run. Prefix sums over that order give the count, centroid and
+ * per-feature counts of a cell from two binary searches, independent of how many places it holds.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlaceClusterIndex implements PlacePointListener {
+
+    public static final int MAX_CLUSTER_ZOOM = 16;
+
+    private static final int CODE_BITS = 30;
+    // A cell is a quarter of a 256px tile, roughly 64px on screen
+    private static final int CELL_ZOOM_OFFSET = 2;
+    private static final int MAX_CELLS = 4096;
+    private static final int MAX_MARKERS = 2000;
+    private static final AccessibilityFeature[] FEATURES = AccessibilityFeature.values();
+
+    private final PlaceMapper placeMapper;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        snapshot = Snapshot.build(points);
+    }
+
+    public PlaceClusterResponse cluster(BoundingBox bbox, int zoom) {
+        Snapshot current = snapshot;
+        int level = Math.min(zoom + CELL_ZOOM_OFFSET, CODE_BITS);
+        long minX = GeoUtils.gridCell(GeoUtils.mercatorX(bbox.getMinLon()), level);
+        long maxX = GeoUtils.gridCell(GeoUtils.mercatorX(bbox.getMaxLon()), level);
+        long minY = GeoUtils.gridCell(GeoUtils.mercatorY(bbox.getMaxLat()), level);
+        long maxY = GeoUtils.gridCell(GeoUtils.mercatorY(bbox.getMinLat()), level);
+
+        boolean individual = zoom >= MAX_CLUSTER_ZOOM;
+        // Coarsen the grid when the box is too large for the zoom, so work stays bounded
+        while ((maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS && level > 0) {
+            level--;
+            minX >>= 1;
+            maxX >>= 1;
+            minY >>= 1;
+            maxY >>= 1;
+        }
+
+        int shift = 2 * (CODE_BITS - level);
+        List<PlaceClusterDto> clusters = new ArrayList<>();
+        List<PlaceMarkerDto> places = new ArrayList<>();
+        for (long y = minY; y <= maxY; y++) {
+            for (long x = minX; x <= maxX; x++) {
+                long prefix = interleave(x, y);
+                int from = current.lowerBound(prefix << shift);
+                int to = current.lowerBound((prefix + 1) << shift);
+                if (from == to) {
+                    continue;
+                }
+                if (individual || to - from == 1) {
+                    for (int i = from; i < to && places.size() < MAX_MARKERS; i++) {
+                        PlacePoint point = current.points[i];
+                        if (bbox.contains(point.getLat(), point.getLon())) {
+                            places.add(placeMapper.toPlaceMarkerDto(point));
+                        }
+                    }
+                } else {
+                    clusters.add(current.cluster(from, to));
+                }
+            }
+        }
+
+        return PlaceClusterResponse.builder()
+                .zoom(zoom)
+                .clusters(clusters)
+                .places(places)
+                .build();
+    }
+
+    /**
+     * Places inside the Web Mercator tile {@code zoom/x/y}; a tile is exactly one grid cell.
+     */
+    public List<PlacePoint> pointsInTile(int zoom, long x, long y) {
+        Snapshot current = snapshot;
+        int shift = 2 * (CODE_BITS - zoom);
+        long prefix = interleave(x, y);
+        int from = current.lowerBound(prefix << shift);
+        int to = current.lowerBound((prefix + 1) << shift);
+        return Arrays.asList(current.points).subList(from, to);
+    }
+
+    static long code(double lat, double lon) {
+        return interleave(
+                GeoUtils.gridCell(GeoUtils.mercatorX(lon), CODE_BITS),
+                GeoUtils.gridCell(GeoUtils.mercatorY(lat), CODE_BITS));
+    }
+
+    private static long interleave(long x, long y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(long v) {
+        v &= 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    private static final class Snapshot {
+        private final long[] codes;
+        private final PlacePoint[] points;
+        private final double[] latSums;
+        private final double[] lonSums;
+        private final int[][] featureCounts;
+
+        private Snapshot(long[] codes, PlacePoint[] points, double[] latSums, double[] lonSums, int[][] featureCounts) {
+            this.codes = codes;
+            this.points = points;
+            this.latSums = latSums;
+            this.lonSums = lonSums;
+            this.featureCounts = featureCounts;
+        }
+
+        static Snapshot build(List<PlacePoint> source) {
+            int n = source.size();
+            long[] unsortedCodes = new long[n];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                PlacePoint point = source.get(i);
+                unsortedCodes[i] = code(point.getLat(), point.getLon());
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> unsortedCodes[i]));
+
+            long[] codes = new long[n];
+            PlacePoint[] points = new PlacePoint[n];
+            double[] latSums = new double[n + 1];
+            double[] lonSums = new double[n + 1];
+            int[][] featureCounts = new int[FEATURES.length][n + 1];
+            for (int i = 0; i < n; i++) {
+                PlacePoint point = source.get(order[i]);
+                codes[i] = unsortedCodes[order[i]];
+                points[i] = point;
+                latSums[i + 1] = latSums[i] + point.getLat();
+                lonSums[i + 1] = lonSums[i] + point.getLon();
+                for (AccessibilityFeature feature : FEATURES) {
+                    int f = feature.ordinal();
+                    featureCounts[f][i + 1] = featureCounts[f][i] + (point.hasFeature(feature) ? 1 : 0);
+                }
+            }
+            return new Snapshot(codes, points, latSums, lonSums, featureCounts);
+        }
+
+        int lowerBound(long code) {
+            int low = 0;
+            int high = codes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (codes[mid] < code) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        PlaceClusterDto cluster(int from, int to) {
+            int count = to - from;
+            return PlaceClusterDto.builder()
+                    .lat((latSums[to] - latSums[from]) / count)
+                    .lon((lonSums[to] - lonSums[from]) / count)
+                    .count(count)
+                    .wheelchairAccessible(featureCount(AccessibilityFeature.WHEELCHAIR_ACCESSIBLE, from, to))
+                    .tactileElements(featureCount(AccessibilityFeature.TACTILE_ELEMENTS, from, to))
+                    .brailleSignage(featureCount(AccessibilityFeature.BRAILLE_SIGNAGE, from, to))
+                    .accessibleToilets(featureCount(AccessibilityFeature.ACCESSIBLE_TOILETS, from, to))
+                    .build();
+        }
+
+        private int featureCount(AccessibilityFeature feature, int from, int to) {
+            int[] counts = featureCounts[feature.ordinal()];
+            return counts[to] - counts[from];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.server.index;
+
+import lombok.Value;
+
+/**
+ * Result of a {@link PlaceFacetIndex} query. The arrays are indexed by
+ * {@link com.example.server.entity.PlaceCategory} and
+ * {@link com.example.server.enums.AccessibilityFeature} ordinal.
+ */
+@Value
+public class PlaceFacetCounts {
+    int total;
+    int[] categories;
+    int[] features;
+}
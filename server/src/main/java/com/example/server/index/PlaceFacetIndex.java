@@ -0,0 +1,193 @@
+package com.example.server.index;
+
+import com.example.server.entity.PlaceCategory;
+import com.example.server.enums.AccessibilityFeature;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the categories and accessibility features of approved places, answering
+ * filter counts for {@code /places/facets}.
+ * <p>
+ * Every place owns a slot, and there is one bitmap of slots per category and per feature plus one
+ * of occupied slots, interleaved word by word in a single array. Slots freed by removed places are
+ * reused, so the bitmaps stay dense and plain {@code long} words are as compact as a compressed
+ * format would be. A query walks the words once, combining the filter and counting every facet in
+ * the same pass without allocating, in tens of microseconds for a hundred thousand places.
+ * <p>
+ * Like {@link PlaceSearchIndex} the bitmaps are built from the first snapshot and then updated in
+ * place from the store's change lists, under a read-write lock only the rebuild thread writes.
+ */
+@Component
+public class PlaceFacetIndex implements PlacePointListener {
+
+    private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+    private static final AccessibilityFeature[] FEATURES = AccessibilityFeature.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    // Per 64 slots: the occupied word, then one word per category, then one per feature
+    private static final int OCCUPIED = 0;
+    private static final int FIRST_CATEGORY = 1;
+    private static final int FIRST_FEATURE = FIRST_CATEGORY + CATEGORIES.length;
+    private static final int STRIDE = FIRST_FEATURE + FEATURES.length;
+
+    private long[] bits = new long[0];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    private boolean initialized;
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        lock.writeLock().lock();
+        try {
+            if (initialized) {
+                return;
+            }
+            points.forEach(this::add);
+            initialized = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPointsUpdated(List<PlacePointChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (PlacePointChange change : changes) {
+                if (change.getPrevious() != null) {
+                    remove(change.getPrevious().getId());
+                }
+                if (change.getCurrent() != null) {
+                    remove(change.getCurrent().getId());
+                    add(change.getCurrent());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the places matching the filter and every facet of it.
+     * <p>
+     * A place matches when, for each of {@code featureGroups}, it has at least one of the features
+     * in that group's mask, and when its category is in {@code categories} (a
+     * {@link PlaceSpatialIndex#categoryMask} mask, 0 for any). Feature counts are the matches
+     * that also have the feature. Category counts ignore the category filter, so they tell how
+     * many places each category would add or leave.
+     */
+    public PlaceFacetCounts count(int[] featureGroups, int categories) {
+        boolean[] selected = selectedCategories(categories);
+        int[] categoryCounts = new int[CATEGORIES.length];
+        int[] featureCounts = new int[FEATURES.length];
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            int end = ((slotCount + 63) >>> 6) * STRIDE;
+            for (int row = 0; row < end; row += STRIDE) {
+                long base = bits[row + OCCUPIED];
+                for (int g = 0; g < featureGroups.length && base != 0; g++) {
+                    base &= anyFeature(featureGroups[g], row);
+                }
+                if (base == 0) {
+                    continue;
+                }
+                long inCategories = selected == null ? -1L : 0;
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    long inCategory = base & bits[row + FIRST_CATEGORY + c];
+                    categoryCounts[c] += Long.bitCount(inCategory);
+                    if (selected != null && selected[c]) {
+                        inCategories |= inCategory;
+                    }
+                }
+                long matching = base & inCategories;
+                if (matching == 0) {
+                    continue;
+                }
+                total += Long.bitCount(matching);
+                for (int f = 0; f < FEATURES.length; f++) {
+                    featureCounts[f] += Long.bitCount(matching & bits[row + FIRST_FEATURE + f]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PlaceFacetCounts(total, categoryCounts, featureCounts);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long anyFeature(int mask, int row) {
+        long any = 0;
+        for (int f = 0; f < FEATURES.length; f++) {
+            if ((mask & (1 << f)) != 0) {
+                any |= bits[row + FIRST_FEATURE + f];
+            }
+        }
+        return any;
+    }
+
+    private static boolean[] selectedCategories(int categories) {
+        if (categories == 0) {
+            return null;
+        }
+        boolean[] selected = new boolean[CATEGORIES.length];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            selected[c] = (categories & (1 << c)) != 0;
+        }
+        return selected;
+    }
+
+    private void add(PlacePoint point) {
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        int row = (slot >>> 6) * STRIDE;
+        if (row >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(row + STRIDE, bits.length * 2));
+        }
+        slotsById.put(point.getId(), slot);
+        long bit = 1L << slot;
+        bits[row + OCCUPIED] |= bit;
+        if (point.getCategory() != null) {
+            bits[row + FIRST_CATEGORY + point.getCategory().ordinal()] |= bit;
+        }
+        for (AccessibilityFeature feature : FEATURES) {
+            if (point.hasFeature(feature)) {
+                bits[row + FIRST_FEATURE + feature.ordinal()] |= bit;
+            }
+        }
+    }
+
+    private void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int row = (slot >>> 6) * STRIDE;
+        long keep = ~(1L << slot);
+        for (int i = row; i < row + STRIDE; i++) {
+            bits[i] &= keep;
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.server.index;
+
+import lombok.Value;
+
+@Value
+public class PlaceNeighbor {
+    PlacePoint point;
+    double distanceMeters;
+}
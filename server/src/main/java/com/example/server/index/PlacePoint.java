@@ -0,0 +1,42 @@
+package com.example.server.index;
+
+import com.example.server.entity.Place;
+import com.example.server.entity.PlaceCategory;
+import com.example.server.enums.AccessibilityFeature;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable, compact copy of an approved place used by the in-memory indexes.
+ */
+@Value
+@Builder
+public class PlacePoint {
+    long id;
+    String name;
+    String address;
+    double lat;
+    double lon;
+    PlaceCategory category;
+    int features;
+    double score;
+    long updatedAt;
+
+    public boolean hasFeature(AccessibilityFeature feature) {
+        return feature.isSet(features);
+    }
+
+    public static PlacePoint from(Place place) {
+        return PlacePoint.builder()
+                .id(place.getId())
+                .name(place.getName())
+                .address(place.getAddress())
+                .lat(place.getLat().doubleValue())
+                .lon(place.getLon().doubleValue())
+                .category(place.getCategory())
+                .features(AccessibilityFeature.maskOf(place))
+                .score(place.getOverallAccessibilityScore() == null ? 0 : place.getOverallAccessibilityScore().doubleValue())
+                .updatedAt(place.getUpdatedAt() == null ? 0 : place.getUpdatedAt())
+                .build();
+    }
+}
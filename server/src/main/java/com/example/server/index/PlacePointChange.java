@@ -0,0 +1,13 @@
+package com.example.server.index;
+
+import lombok.Value;
+
+/**
+ * One committed change of an approved place. Either side is {@code null} when the place
+ * entered or left the approved set.
+ */
+@Value
+public class PlacePointChange {
+    PlacePoint previous;
+    PlacePoint current;
+}
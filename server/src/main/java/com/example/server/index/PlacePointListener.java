@@ -0,0 +1,22 @@
+package com.example.server.index;
+
+import java.util.List;
+
+/**
+ * Implemented by in-memory structures that are rebuilt from the approved places held in
+ * {@link PlacePointStore}.
+ */
+public interface PlacePointListener {
+
+    /**
+     * Called on the store's rebuild thread with an immutable snapshot of all approved places.
+     */
+    void onPointsChanged(List<PlacePoint> points);
+
+    /**
+     * Called on the rebuild thread after every listener has received the snapshot that already
+     * contains these changes.
+     */
+    default void onPointsUpdated(List<PlacePointChange> changes) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.server.index;
+
+import com.example.server.event.PlaceChangedEvent;
+import com.example.server.event.PlacesChangedEvent;
+import com.example.server.repository.PlaceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds every approved place in memory and feeds {@link PlacePointListener}s with fresh snapshots.
+ * <p>
+ * The store is loaded before the web server starts and then follows committed place writes.
+ * Rebuilds run on a single background thread and are coalesced, so a burst of writes causes
+ * one rebuild rather than one per write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlacePointStore {
+
+    private final PlaceRepository placeRepository;
+    private final List<PlacePointListener> listeners;
+
+    private final Map<Long, PlacePoint> points = new ConcurrentHashMap<>();
+    private final Queue<PlacePointChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "place-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        placeRepository.findAllByApprovedTrue()
+                .forEach(place -> points.put(place.getId(), PlacePoint.from(place)));
+        rebuild(List.of());
+        log.info("Loaded {} approved places into memory in {} ms", points.size(), System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @TransactionalEventListener
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        if (apply(event)) {
+            scheduleRebuild();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        boolean changed = false;
+        for (PlaceChangedEvent change : event.getChanges()) {
+            changed |= apply(change);
+        }
+        if (changed) {
+            scheduleRebuild();
+        }
+    }
+
+    private boolean apply(PlaceChangedEvent event) {
+        PlacePoint previous = event.getPoint() != null
+                ? points.put(event.getPlaceId(), event.getPoint())
+                : points.remove(event.getPlaceId());
+        if (previous == null && event.getPoint() == null) {
+            return false;
+        }
+        pendingChanges.add(new PlacePointChange(previous, event.getPoint()));
+        return true;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildPending.set(false);
+                rebuild(drainChanges());
+            });
+        }
+    }
+
+    private List<PlacePointChange> drainChanges() {
+        List<PlacePointChange> changes = new ArrayList<>();
+        PlacePointChange change;
+        while ((change = pendingChanges.poll()) != null) {
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    // Changes are drained before the snapshot is copied, so every change passed on is already in it
+    private void rebuild(List<PlacePointChange> changes) {
+        List<PlacePoint> snapshot = List.copyOf(points.values());
+        for (PlacePointListener listener : listeners) {
+            try {
+                listener.onPointsChanged(snapshot);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild {}: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (PlacePointListener listener : listeners) {
+            try {
+                listener.onPointsUpdated(changes);
+            } catch (RuntimeException e) {
+                log.error("Failed to update {}: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
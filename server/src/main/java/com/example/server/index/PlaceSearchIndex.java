@@ -0,0 +1,358 @@
+package com.example.server.index;
+
+import com.example.server.cache.ExpiringLruCache;
+import com.example.server.util.TextNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over the names and addresses of approved places for the local part of
+ * {@code /places/search}.
+ * <p>
+ * Text is {@link TextNormalizer#fold(String) folded} before indexing and searching, so Cyrillic
+ * and Latin spellings, case and apostrophe variants all match each other. Every word contributes
+ * its trigrams plus word-start grams, so terms of three or more characters match anywhere in a
+ * word and shorter terms match word prefixes. Results are ranked by how well the terms hit the
+ * name rather than the address.
+ * <p>
+ * The index is built once from the first snapshot and then updated in place from the store's
+ * change lists, under a read-write lock that only the rebuild thread ever takes for writing.
+ * Recent results are cached until the next change, since typing repeats the same prefixes.
+ */
+@Component
+public class PlaceSearchIndex implements PlacePointListener {
+
+    private static final int MIN_GRAM = 3;
+    private static final char WORD_START = ' ';
+    private static final int CACHED_QUERIES = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ExpiringLruCache<String, List<PlacePoint>> results = new ExpiringLruCache<>(CACHED_QUERIES);
+
+    private boolean initialized;
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        lock.writeLock().lock();
+        try {
+            if (initialized) {
+                return;
+            }
+            points.forEach(this::add);
+            initialized = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPointsUpdated(List<PlacePointChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (PlacePointChange change : changes) {
+                if (change.getPrevious() != null) {
+                    remove(change.getPrevious().getId());
+                }
+                if (change.getCurrent() != null) {
+                    remove(change.getCurrent().getId());
+                    add(change.getCurrent());
+                }
+            }
+            results.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Places matching every word of the query, best match first.
+     */
+    public List<PlacePoint> search(String query, int limit) {
+        String folded = TextNormalizer.fold(query);
+        String[] terms = words(folded);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        String key = limit + ":" + folded;
+        lock.readLock().lock();
+        try {
+            List<PlacePoint> cached = results.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            // Stored under the read lock, so a concurrent update cannot clear the cache in between
+            List<PlacePoint> found = find(terms, limit);
+            results.put(key, found, Long.MAX_VALUE);
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<PlacePoint> find(String[] terms, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (String gram : queryGrams(term)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+        }
+        // Intersect starting from the rarest gram so the candidate set is small from the start
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retainAll(candidates);
+        }
+
+        String phrase = String.join(" ", terms);
+        return top(candidates, terms, phrase, limit);
+    }
+
+    // Keeps only the best few matches in a small sorted array instead of sorting every candidate
+    private List<PlacePoint> top(int[] candidates, String[] terms, String phrase, int limit) {
+        Document[] best = new Document[Math.min(limit, candidates.length)];
+        double[] bestScores = new double[best.length];
+        int count = 0;
+        for (int slot : candidates) {
+            Document document = documents.get(slot);
+            double score = document.score(terms, phrase);
+            if (score == 0 || (count == best.length && !ranksBefore(document, score, best[count - 1], bestScores[count - 1]))) {
+                continue;
+            }
+            int index = count == best.length ? count - 1 : count++;
+            while (index > 0 && ranksBefore(document, score, best[index - 1], bestScores[index - 1])) {
+                best[index] = best[index - 1];
+                bestScores[index] = bestScores[index - 1];
+                index--;
+            }
+            best[index] = document;
+            bestScores[index] = score;
+        }
+
+        List<PlacePoint> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(best[i].point);
+        }
+        return List.copyOf(result);
+    }
+
+    // Higher score first, then shorter names, better accessibility and older places
+    private static boolean ranksBefore(Document a, double aScore, Document b, double bScore) {
+        if (aScore != bScore) {
+            return aScore > bScore;
+        }
+        if (a.nameLength != b.nameLength) {
+            return a.nameLength < b.nameLength;
+        }
+        if (a.point.getScore() != b.point.getScore()) {
+            return a.point.getScore() > b.point.getScore();
+        }
+        return a.point.getId() < b.point.getId();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(PlacePoint point) {
+        Document document = new Document(point);
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            slot = documents.size();
+            documents.add(document);
+        } else {
+            documents.set(slot, document);
+        }
+        slotsById.put(point.getId(), slot);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+    }
+
+    private void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String gram : documents.get(slot).grams()) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        documents.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    private static String[] words(String folded) {
+        return folded.isEmpty() ? new String[0] : folded.split(" ");
+    }
+
+    // Short terms can only be looked up as word prefixes; longer ones by all their trigrams
+    private static List<String> queryGrams(String term) {
+        if (term.length() < MIN_GRAM) {
+            return List.of(WORD_START + term);
+        }
+        List<String> grams = new ArrayList<>(term.length() - MIN_GRAM + 1);
+        for (int i = 0; i + MIN_GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + MIN_GRAM));
+        }
+        return grams;
+    }
+
+    private static void addWordGrams(String word, Set<String> grams) {
+        String padded = WORD_START + word;
+        for (int length = 2; length <= MIN_GRAM && length <= padded.length(); length++) {
+            grams.add(padded.substring(0, length));
+        }
+        for (int i = 0; i + MIN_GRAM <= word.length(); i++) {
+            grams.add(word.substring(i, i + MIN_GRAM));
+        }
+    }
+
+    /**
+     * Name and address are kept folded in one string, {@code name|address}, so scoring a
+     * candidate touches a single character array.
+     */
+    private static final class Document {
+        private static final char FIELD_SEPARATOR = '|';
+
+        private final PlacePoint point;
+        private final String text;
+        private final int nameLength;
+
+        Document(PlacePoint point) {
+            this.point = point;
+            String name = TextNormalizer.fold(point.getName());
+            this.text = name + FIELD_SEPARATOR + TextNormalizer.fold(point.getAddress());
+            this.nameLength = name.length();
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String word : text.split("[ |]")) {
+                if (!word.isEmpty()) {
+                    addWordGrams(word, grams);
+                }
+            }
+            return grams;
+        }
+
+        // Zero when some term is not actually present: trigrams only narrow the candidates down
+        double score(String[] terms, String phrase) {
+            double score = text.startsWith(phrase) && phrase.length() <= nameLength ? 4 : 0;
+            for (String term : terms) {
+                double termScore = termScore(term);
+                if (termScore == 0) {
+                    return 0;
+                }
+                score += termScore;
+            }
+            return score;
+        }
+
+        // Whole word 3, word prefix 2, inside a word 1; doubled when the hit is in the name
+        private double termScore(String term) {
+            double best = 0;
+            for (int index = text.indexOf(term); index >= 0; index = text.indexOf(term, index + 1)) {
+                int end = index + term.length();
+                boolean wordStart = index == 0 || isBoundary(text.charAt(index - 1));
+                boolean wordEnd = end == text.length() || isBoundary(text.charAt(end));
+                double hit = wordStart ? (wordEnd ? 3 : 2) : (term.length() >= MIN_GRAM ? 1 : 0);
+                if (end <= nameLength) {
+                    hit *= 2;
+                }
+                best = Math.max(best, hit);
+                if (best == 6) {
+                    break;
+                }
+            }
+            return best;
+        }
+
+        private static boolean isBoundary(char c) {
+            return c == ' ' || c == FIELD_SEPARATOR;
+        }
+    }
+
+    /**
+     * Sorted slot numbers of the documents containing one gram.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+
+        // Both sides are sorted, so this is a linear merge
+        int[] retainAll(int[] candidates) {
+            int[] result = new int[Math.min(size, candidates.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < candidates.length) {
+                if (slots[i] < candidates[j]) {
+                    i++;
+                } else if (slots[i] > candidates[j]) {
+                    j++;
+                } else {
+                    result[count++] = slots[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.server.index;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One encoded {@link PlaceSnapshotEncoder snapshot} of the approved places with its entity tag.
+ * The bytes are shared by every request and must not be modified.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class PlaceSnapshot {
+    private final byte[] bytes;
+    private final String etag;
+}
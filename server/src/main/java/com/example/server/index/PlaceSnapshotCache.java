@@ -0,0 +1,58 @@
+package com.example.server.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * The current binary snapshot of all approved places, re-encoded on the store's rebuild thread
+ * after every change so requests only hand out the prepared bytes.
+ * <p>
+ * The entity tag is a digest of the bytes, so every instance holding the same places serves the
+ * same tag and clients re-download only when the content actually changed.
+ */
+@Component
+public class PlaceSnapshotCache implements PlacePointListener {
+
+    private final Timer encodeTimer;
+
+    private volatile PlaceSnapshot snapshot = build(List.of());
+
+    public PlaceSnapshotCache(MeterRegistry meterRegistry) {
+        this.encodeTimer = Timer.builder("places.snapshot.encode")
+                .description("Time spent encoding the binary places snapshot")
+                .register(meterRegistry);
+        Gauge.builder("places.snapshot.bytes", this, cache -> cache.snapshot.getBytes().length)
+                .description("Size of the binary places snapshot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        snapshot = encodeTimer.record(() -> build(points));
+    }
+
+    public PlaceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private static PlaceSnapshot build(List<PlacePoint> points) {
+        byte[] bytes = PlaceSnapshotEncoder.encode(points);
+        return new PlaceSnapshot(bytes, "\"snapshot-" + PlaceSnapshotEncoder.FORMAT_VERSION + "-" + digest(bytes) + "\"");
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.server.index;
+
+import com.example.server.entity.PlaceCategory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes all approved places in the compact binary format served by {@code /places/snapshot}.
+ * <p>
+ * Unsigned integers are LEB128 varints; signed ones are zig-zag encoded first. Strings are a
+ * varint byte length followed by UTF-8. The layout is:
+ * <pre>
+ * magic "ICPS", format version byte
+ * category count, category names         ordinal + 1 is the category code used below
+ * string count, strings                  index 0 is always the empty string
+ * place count, then per place in ID order:
+ *   ID delta from the previous place
+ *   latitude, longitude delta             signed, in millionths of a degree
+ *   feature byte                          bit n set for AccessibilityFeature ordinal n
+ *   category code                         0 when the place has no category
+ *   name index, address index             into the string table, 0 for none
+ * </pre>
+ * Names and addresses that occur more than once are stored once.
+ */
+public class PlaceSnapshotEncoder {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'I', 'C', 'P', 'S'};
+    private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+    private static final double FIXED_POINT_SCALE = 1_000_000;
+
+    public static byte[] encode(List<PlacePoint> source) {
+        List<PlacePoint> points = new ArrayList<>(source);
+        points.sort(Comparator.comparingLong(PlacePoint::getId));
+
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        strings.add("");
+        stringIndexes.put("", 0);
+        int[] nameIndexes = new int[points.size()];
+        int[] addressIndexes = new int[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            nameIndexes[i] = intern(points.get(i).getName(), strings, stringIndexes);
+            addressIndexes[i] = intern(points.get(i).getAddress(), strings, stringIndexes);
+        }
+
+        Writer out = new Writer();
+        out.writeBytes(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeVarint(CATEGORIES.length);
+        for (PlaceCategory category : CATEGORIES) {
+            out.writeString(category.name());
+        }
+        out.writeVarint(strings.size());
+        for (String string : strings) {
+            out.writeString(string);
+        }
+
+        out.writeVarint(points.size());
+        long previousId = 0;
+        long previousLat = 0;
+        long previousLon = 0;
+        for (int i = 0; i < points.size(); i++) {
+            PlacePoint point = points.get(i);
+            long lat = Math.round(point.getLat() * FIXED_POINT_SCALE);
+            long lon = Math.round(point.getLon() * FIXED_POINT_SCALE);
+            out.writeVarint(point.getId() - previousId);
+            out.writeVarint(zigZag(lat - previousLat));
+            out.writeVarint(zigZag(lon - previousLon));
+            out.writeByte(point.getFeatures());
+            out.writeVarint(point.getCategory() == null ? 0 : point.getCategory().ordinal() + 1);
+            out.writeVarint(nameIndexes[i]);
+            out.writeVarint(addressIndexes[i]);
+            previousId = point.getId();
+            previousLat = lat;
+            previousLon = lon;
+        }
+        return out.toByteArray();
+    }
+
+    private static int intern(String value, List<String> strings, Map<String, Integer> indexes) {
+        if (value == null) {
+            return 0;
+        }
+        return indexes.computeIfAbsent(value, key -> {
+            strings.add(key);
+            return strings.size() - 1;
+        });
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void writeByte(int value) {
+            out.write(value);
+        }
+
+        void writeBytes(byte[] bytes) {
+            out.write(bytes, 0, bytes.length);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
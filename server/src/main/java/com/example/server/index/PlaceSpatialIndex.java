@@ -0,0 +1,263 @@
+package com.example.server.index;
+
+import com.example.server.entity.PlaceCategory;
+import com.example.server.util.GeoUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * R-tree over approved places answering radius and k-nearest queries from memory. Viewport
+ * queries stay on the database, where the bounds index keeps every instance consistent.
+ * <p>
+ * The tree is bulk-loaded with Sort-Tile-Recursive packing into flat arrays and never mutated:
+ * every rebuild produces a new tree that replaces the old one with a single volatile write, so
+ * readers are lock-free and always see a consistent tree.
+ * <p>
+ * Distances are great-circle metres. Node pruning measures the distance to the nearest point of
+ * the node's lat/lon box, which is exact to well under a metre at city scale. Every node also
+ * keeps the OR of its places' feature and category masks, so filtered nearest-place searches skip
+ * subtrees that cannot hold a match without looking at their places.
+ */
+@Component
+public class PlaceSpatialIndex implements PlacePointListener {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Timer rebuildTimer;
+
+    private volatile Tree tree = Tree.build(List.of());
+
+    public PlaceSpatialIndex(MeterRegistry meterRegistry) {
+        this.rebuildTimer = Timer.builder("places.spatial_index.rebuild")
+                .description("Time spent rebuilding the in-memory place R-tree")
+                .register(meterRegistry);
+        Gauge.builder("places.spatial_index.size", this, PlaceSpatialIndex::size)
+                .description("Approved places held in the in-memory R-tree")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        tree = rebuildTimer.record(() -> Tree.build(points));
+    }
+
+    public int size() {
+        return tree.points.length;
+    }
+
+    /**
+     * Places within {@code radiusMeters} of the given point, nearest first.
+     */
+    public List<PlaceNeighbor> findWithinRadius(double lat, double lon, double radiusMeters, int limit) {
+        return findNearest(lat, lon, limit, radiusMeters, 0, 0);
+    }
+
+    /**
+     * The {@code k} places nearest to the given point, nearest first.
+     */
+    public List<PlaceNeighbor> findNearest(double lat, double lon, int k) {
+        return findNearest(lat, lon, k, Double.POSITIVE_INFINITY, 0, 0);
+    }
+
+    /**
+     * The {@code k} places nearest to the given point that have every feature in
+     * {@code requiredFeatures} and, unless {@code categories} is 0, one of the categories in it
+     * (see {@link #categoryMask}), nearest first.
+     */
+    public List<PlaceNeighbor> findNearest(double lat, double lon, int k, int requiredFeatures, int categories) {
+        return findNearest(lat, lon, k, Double.POSITIVE_INFINITY, requiredFeatures, categories);
+    }
+
+    public static int categoryMask(Collection<PlaceCategory> categories) {
+        int mask = 0;
+        for (PlaceCategory category : categories) {
+            mask |= categoryBit(category);
+        }
+        return mask;
+    }
+
+    private static int categoryBit(PlaceCategory category) {
+        return category == null ? 0 : 1 << category.ordinal();
+    }
+
+    // Best-first search: nodes and places share one queue ordered by (lower-bound) distance,
+    // so places come out nearest first and the search stops after k of them.
+    private List<PlaceNeighbor> findNearest(double lat, double lon, int k, double maxDistance,
+                                            int requiredFeatures, int categories) {
+        Tree current = tree;
+        List<PlaceNeighbor> result = new ArrayList<>(Math.min(k, 64));
+        if (current.root < 0 || k <= 0) {
+            return result;
+        }
+
+        if (!matches(current.featureMask[current.root], current.categoryMask[current.root], requiredFeatures, categories)) {
+            return result;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        queue.add(new Candidate(current.minDistance(current.root, lat, lon), current.root, false));
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate candidate = queue.poll();
+            if (candidate.distance() > maxDistance) {
+                break;
+            }
+            if (candidate.point()) {
+                result.add(new PlaceNeighbor(current.points[candidate.index()], candidate.distance()));
+            } else if (current.isLeaf(candidate.index())) {
+                for (int i = current.first[candidate.index()]; i < current.last[candidate.index()]; i++) {
+                    PlacePoint point = current.points[i];
+                    if (!matches(point.getFeatures(), categoryBit(point.getCategory()), requiredFeatures, categories)) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceMeters(lat, lon, point.getLat(), point.getLon());
+                    if (distance <= maxDistance) {
+                        queue.add(new Candidate(distance, i, true));
+                    }
+                }
+            } else {
+                for (int child = current.first[candidate.index()]; child < current.last[candidate.index()]; child++) {
+                    if (!matches(current.featureMask[child], current.categoryMask[child], requiredFeatures, categories)) {
+                        continue;
+                    }
+                    double distance = current.minDistance(child, lat, lon);
+                    if (distance <= maxDistance) {
+                        queue.add(new Candidate(distance, child, false));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // For a node the masks are unions, so a match only means the subtree may hold a matching place
+    private static boolean matches(int features, int category, int requiredFeatures, int categories) {
+        return (features & requiredFeatures) == requiredFeatures && (categories == 0 || (category & categories) != 0);
+    }
+
+    private record Candidate(double distance, int index, boolean point) {
+    }
+
+    /**
+     * Nodes are stored level by level from the leaves up, so a node is a leaf when its index is
+     * below {@code leafCount} and the root is the last node. Leaves reference ranges of
+     * {@code points}; inner nodes reference ranges of nodes on the level below.
+     */
+    private static final class Tree {
+        private final PlacePoint[] points;
+        private final int leafCount;
+        private final int root;
+        private final int[] first;
+        private final int[] last;
+        private final double[] minLat;
+        private final double[] minLon;
+        private final double[] maxLat;
+        private final double[] maxLon;
+        private final int[] featureMask;
+        private final int[] categoryMask;
+
+        private Tree(PlacePoint[] points, int leafCount, int nodeCount) {
+            this.points = points;
+            this.leafCount = leafCount;
+            this.root = nodeCount - 1;
+            this.first = new int[nodeCount];
+            this.last = new int[nodeCount];
+            this.minLat = new double[nodeCount];
+            this.minLon = new double[nodeCount];
+            this.maxLat = new double[nodeCount];
+            this.maxLon = new double[nodeCount];
+            this.featureMask = new int[nodeCount];
+            this.categoryMask = new int[nodeCount];
+        }
+
+        static Tree build(List<PlacePoint> source) {
+            PlacePoint[] points = source.toArray(new PlacePoint[0]);
+            int n = points.length;
+            int leafCount = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+
+            // Sort-Tile-Recursive: vertical slices by longitude, each slice ordered by latitude
+            Arrays.sort(points, Comparator.comparingDouble(PlacePoint::getLon));
+            int sliceSize = (int) Math.ceil(Math.sqrt(leafCount)) * NODE_CAPACITY;
+            for (int from = 0; from < n; from += sliceSize) {
+                Arrays.sort(points, from, Math.min(n, from + sliceSize), Comparator.comparingDouble(PlacePoint::getLat));
+            }
+
+            int nodeCount = 0;
+            for (int level = leafCount; level > 0; level = level == 1 ? 0 : (level + NODE_CAPACITY - 1) / NODE_CAPACITY) {
+                nodeCount += level;
+            }
+            Tree tree = new Tree(points, leafCount, nodeCount);
+
+            for (int node = 0; node < leafCount; node++) {
+                tree.first[node] = node * NODE_CAPACITY;
+                tree.last[node] = Math.min(n, (node + 1) * NODE_CAPACITY);
+                tree.fitPoints(node);
+            }
+
+            int levelStart = 0;
+            int levelSize = leafCount;
+            while (levelSize > 1) {
+                int parentStart = levelStart + levelSize;
+                int parentSize = (levelSize + NODE_CAPACITY - 1) / NODE_CAPACITY;
+                for (int i = 0; i < parentSize; i++) {
+                    int node = parentStart + i;
+                    tree.first[node] = levelStart + i * NODE_CAPACITY;
+                    tree.last[node] = Math.min(parentStart, levelStart + (i + 1) * NODE_CAPACITY);
+                    tree.fitChildren(node);
+                }
+                levelStart = parentStart;
+                levelSize = parentSize;
+            }
+            return tree;
+        }
+
+        boolean isLeaf(int node) {
+            return node < leafCount;
+        }
+
+        double minDistance(int node, double lat, double lon) {
+            double nearestLat = Math.max(minLat[node], Math.min(maxLat[node], lat));
+            double nearestLon = Math.max(minLon[node], Math.min(maxLon[node], lon));
+            return GeoUtils.distanceMeters(lat, lon, nearestLat, nearestLon);
+        }
+
+        private void fitPoints(int node) {
+            resetBounds(node);
+            for (int i = first[node]; i < last[node]; i++) {
+                minLat[node] = Math.min(minLat[node], points[i].getLat());
+                minLon[node] = Math.min(minLon[node], points[i].getLon());
+                maxLat[node] = Math.max(maxLat[node], points[i].getLat());
+                maxLon[node] = Math.max(maxLon[node], points[i].getLon());
+                featureMask[node] |= points[i].getFeatures();
+                categoryMask[node] |= categoryBit(points[i].getCategory());
+            }
+        }
+
+        private void fitChildren(int node) {
+            resetBounds(node);
+            for (int child = first[node]; child < last[node]; child++) {
+                minLat[node] = Math.min(minLat[node], minLat[child]);
+                minLon[node] = Math.min(minLon[node], minLon[child]);
+                maxLat[node] = Math.max(maxLat[node], maxLat[child]);
+                maxLon[node] = Math.max(maxLon[node], maxLon[child]);
+                featureMask[node] |= featureMask[child];
+                categoryMask[node] |= categoryMask[child];
+            }
+        }
+
+        private void resetBounds(int node) {
+            minLat[node] = Double.POSITIVE_INFINITY;
+            minLon[node] = Double.POSITIVE_INFINITY;
+            maxLat[node] = Double.NEGATIVE_INFINITY;
+            maxLon[node] = Double.NEGATIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.server.index;
+
+import com.example.server.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Vector tiles of approved places, cached on local disk.
+ * <p>
+ * Tiles live under a directory named after a fingerprint of the data they were built from, so
+ * tiles left over from a previous run against different data are never served. After startup,
+ * each committed place change deletes only the tiles that contain its old or new position.
+ */
+@Slf4j
+@Component
+public class PlaceTileCache implements PlacePointListener {
+
+    public static final int MAX_ZOOM = 20;
+
+    private final PlaceClusterIndex placeClusterIndex;
+    private final Path rootDirectory;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile Path directory;
+
+    public PlaceTileCache(PlaceClusterIndex placeClusterIndex,
+                          @Value("${places.tiles.cache-dir}") String cacheDir) {
+        this.placeClusterIndex = placeClusterIndex;
+        this.rootDirectory = Path.of(cacheDir);
+    }
+
+    public byte[] getTile(int zoom, long x, long y) {
+        if (zoom < 0 || zoom > MAX_ZOOM || x < 0 || y < 0 || x >= (1L << zoom) || y >= (1L << zoom)) {
+            throw new IllegalArgumentException("Tile coordinates out of range: " + zoom + "/" + x + "/" + y);
+        }
+
+        Path current = directory;
+        if (current == null) {
+            return encode(zoom, x, y);
+        }
+        Path file = tilePath(current, zoom, x, y);
+        try {
+            if (Files.exists(file)) {
+                return Files.readAllBytes(file);
+            }
+            long version = invalidations.get();
+            byte[] tile = encode(zoom, x, y);
+            store(file, tile, version);
+            return tile;
+        } catch (IOException e) {
+            log.warn("Tile cache unavailable for {}/{}/{}: {}", zoom, x, y, e.getMessage());
+            return encode(zoom, x, y);
+        }
+    }
+
+    @Override
+    public void onPointsChanged(List<PlacePoint> points) {
+        if (directory == null) {
+            directory = rootDirectory.resolve(fingerprint(points));
+            removeStaleGenerations();
+        }
+    }
+
+    @Override
+    public void onPointsUpdated(List<PlacePointChange> changes) {
+        Path current = directory;
+        if (current == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        for (PlacePointChange change : changes) {
+            invalidate(current, change.getPrevious());
+            invalidate(current, change.getCurrent());
+        }
+    }
+
+    private byte[] encode(int zoom, long x, long y) {
+        return PlaceTileEncoder.encode(placeClusterIndex.pointsInTile(zoom, x, y), zoom, x, y);
+    }
+
+    // Written to a temporary file first; dropped if an invalidation ran while the tile was being built
+    private void store(Path file, byte[] tile, long version) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "tile", ".tmp");
+        Files.write(temp, tile);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (invalidations.get() != version) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void invalidate(Path current, PlacePoint point) {
+        if (point == null) {
+            return;
+        }
+        double mx = GeoUtils.mercatorX(point.getLon());
+        double my = GeoUtils.mercatorY(point.getLat());
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            Path file = tilePath(current, zoom, GeoUtils.gridCell(mx, zoom), GeoUtils.gridCell(my, zoom));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to invalidate tile {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void removeStaleGenerations() {
+        if (!Files.isDirectory(rootDirectory)) {
+            return;
+        }
+        try (Stream<Path> generations = Files.list(rootDirectory)) {
+            generations.filter(path -> !path.equals(directory))
+                    .forEach(path -> {
+                        try {
+                            FileSystemUtils.deleteRecursively(path);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to remove stale tile cache generations: {}", e.getMessage());
+        }
+    }
+
+    private static Path tilePath(Path root, int zoom, long x, long y) {
+        return root.resolve(Integer.toString(zoom)).resolve(Long.toString(x)).resolve(y + ".mvt");
+    }
+
+    // Order-independent, so it does not matter in which order the store hands the places over
+    private static String fingerprint(List<PlacePoint> points) {
+        long hash = points.size();
+        for (PlacePoint point : points) {
+            long h = (point.getId() * 31 + point.getUpdatedAt()) * 31 + point.getFeatures();
+            h = (h * 31 + Double.hashCode(point.getLat())) * 31 + Double.hashCode(point.getLon());
+            h = (h * 31 + (point.getCategory() == null ? -1 : point.getCategory().ordinal())) * 0x9E3779B97F4A7C15L;
+            hash += h ^ (h >>> 29);
+        }
+        return Long.toHexString(hash);
+    }
+}
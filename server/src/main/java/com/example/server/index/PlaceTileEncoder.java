@@ -0,0 +1,162 @@
+package com.example.server.index;
+
+import com.example.server.enums.AccessibilityFeature;
+import com.example.server.util.GeoUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes approved places as a Mapbox Vector Tile (spec 2.1) with a single point layer.
+ * <p>
+ * The tile format is a small protobuf schema, so it is encoded by hand here rather than
+ * pulling in a protobuf runtime.
+ */
+public class PlaceTileEncoder {
+
+    public static final String LAYER_NAME = "places";
+    public static final int EXTENT = 4096;
+
+    private static final int GEOM_TYPE_POINT = 1;
+    private static final int MOVE_TO_ONE = (1 & 0x7) | (1 << 3);
+    private static final String[] KEYS = {
+            "category",
+            "wheelchairAccessible",
+            "tactileElements",
+            "brailleSignage",
+            "accessibleToilets",
+            "overallAccessibilityScore"
+    };
+    private static final AccessibilityFeature[] FEATURE_KEYS = {
+            AccessibilityFeature.WHEELCHAIR_ACCESSIBLE,
+            AccessibilityFeature.TACTILE_ELEMENTS,
+            AccessibilityFeature.BRAILLE_SIGNAGE,
+            AccessibilityFeature.ACCESSIBLE_TOILETS
+    };
+
+    public static byte[] encode(List<PlacePoint> points, int zoom, long x, long y) {
+        if (points.isEmpty()) {
+            return new byte[0];
+        }
+
+        double scale = 1L << zoom;
+        Map<Object, Integer> values = new LinkedHashMap<>();
+        ProtoWriter layer = new ProtoWriter();
+        layer.writeUInt32(15, 2);
+        layer.writeString(1, LAYER_NAME);
+
+        for (PlacePoint point : points) {
+            List<Integer> tags = new ArrayList<>(KEYS.length * 2);
+            if (point.getCategory() != null) {
+                addTag(tags, values, 0, point.getCategory().name());
+            }
+            for (int i = 0; i < FEATURE_KEYS.length; i++) {
+                addTag(tags, values, i + 1, point.hasFeature(FEATURE_KEYS[i]));
+            }
+            addTag(tags, values, 5, point.getScore());
+
+            int px = (int) Math.round((GeoUtils.mercatorX(point.getLon()) * scale - x) * EXTENT);
+            int py = (int) Math.round((GeoUtils.mercatorY(point.getLat()) * scale - y) * EXTENT);
+
+            ProtoWriter feature = new ProtoWriter();
+            feature.writeUInt64(1, point.getId());
+            feature.writePacked(2, tags);
+            feature.writeUInt32(3, GEOM_TYPE_POINT);
+            feature.writePacked(4, List.of(MOVE_TO_ONE, zigZag(px), zigZag(py)));
+            layer.writeMessage(2, feature);
+        }
+
+        for (String key : KEYS) {
+            layer.writeString(3, key);
+        }
+        for (Object value : values.keySet()) {
+            ProtoWriter encoded = new ProtoWriter();
+            if (value instanceof String s) {
+                encoded.writeString(1, s);
+            } else if (value instanceof Double d) {
+                encoded.writeDouble(3, d);
+            } else if (value instanceof Boolean b) {
+                encoded.writeUInt32(7, b ? 1 : 0);
+            }
+            layer.writeMessage(4, encoded);
+        }
+        layer.writeUInt32(5, EXTENT);
+
+        ProtoWriter tile = new ProtoWriter();
+        tile.writeMessage(3, layer);
+        return tile.toByteArray();
+    }
+
+    private static void addTag(List<Integer> tags, Map<Object, Integer> values, int key, Object value) {
+        tags.add(key);
+        tags.add(values.computeIfAbsent(value, v -> values.size()));
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static final class ProtoWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void writeUInt32(int field, int value) {
+            writeTag(field, 0);
+            writeVarint(value & 0xFFFFFFFFL);
+        }
+
+        void writeUInt64(int field, long value) {
+            writeTag(field, 0);
+            writeVarint(value);
+        }
+
+        void writeDouble(int field, double value) {
+            writeTag(field, 1);
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (8 * i)) & 0xFF);
+            }
+        }
+
+        void writeString(int field, String value) {
+            writeBytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeMessage(int field, ProtoWriter message) {
+            writeBytes(field, message.toByteArray());
+        }
+
+        void writePacked(int field, List<Integer> values) {
+            ProtoWriter packed = new ProtoWriter();
+            for (int value : values) {
+                packed.writeVarint(value & 0xFFFFFFFFL);
+            }
+            writeBytes(field, packed.toByteArray());
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private void writeBytes(int field, byte[] bytes) {
+            writeTag(field, 2);
+            writeVarint(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        private void writeTag(int field, int wireType) {
+            writeVarint(((long) field << 3) | wireType);
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.example.server.mapper;
 
+import com.example.server.dto.place.PlaceDistanceDto;
+import com.example.server.dto.place.PlaceImportErrorDto;
+import com.example.server.dto.place.PlaceImportJobResponse;
+import com.example.server.dto.place.PlaceMarkerDto;
 import com.example.server.dto.place.PlaceRequest;
 import com.example.server.dto.place.PlaceResponse;
 import com.example.server.dto.place.PlaceUpdateRequest;
 import com.example.server.dto.review.PlaceDto;
 import com.example.server.entity.Place;
+import com.example.server.entity.PlaceImportError;
+import com.example.server.entity.PlaceImportJob;
 import com.example.server.entity.User;
-import com.example.server.repository.ReviewRepository;
+import com.example.server.enums.AccessibilityFeature;
+import com.example.server.index.PlaceNeighbor;
+import com.example.server.index.PlacePoint;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class PlaceMapper {
 
     private final UserMapper userMapper;
-    private final ReviewRepository reviewRepository;
 
     public Place toPlace(PlaceRequest request, User createdBy) {
         return Place.builder()
@@ -108,9 +117,6 @@ public class PlaceMapper {
             return null;
         }
 
-        Double averageRating = reviewRepository.getAverageRatingByPlaceId(place.getId());
-        Integer countOfReviews = reviewRepository.countByPlaceId(place.getId());
-
         return PlaceResponse.builder()
                 .id(place.getId())
                 .name(place.getName())
@@ -123,8 +129,8 @@ public class PlaceMapper {
                 .accessibleToilets(place.isAccessibleToilets())
                 .category(place.getCategory())
                 .overallAccessibilityScore(place.getOverallAccessibilityScore())
-                .averageRating(averageRating)
-                .countOfReviews(countOfReviews)
+                .averageRating(place.getAverageRating())
+                .countOfReviews(place.getReviewCount())
                 .createdAt(place.getCreatedAt())
                 .updatedAt(place.getUpdatedAt())
                 .isApproved(place.isApproved())
@@ -140,4 +146,47 @@ public class PlaceMapper {
                 .category(place.getCategory())
                 .build();
     }
-} 
\ No newline at end of file
+
+    public PlaceMarkerDto toPlaceMarkerDto(PlacePoint point) {
+        return PlaceMarkerDto.builder()
+                .id(point.getId())
+                .name(point.getName())
+                .lat(point.getLat())
+                .lon(point.getLon())
+                .category(point.getCategory())
+                .wheelchairAccessible(point.hasFeature(AccessibilityFeature.WHEELCHAIR_ACCESSIBLE))
+                .tactileElements(point.hasFeature(AccessibilityFeature.TACTILE_ELEMENTS))
+                .brailleSignage(point.hasFeature(AccessibilityFeature.BRAILLE_SIGNAGE))
+                .accessibleToilets(point.hasFeature(AccessibilityFeature.ACCESSIBLE_TOILETS))
+                .overallAccessibilityScore(point.getScore())
+                .build();
+    }
+
+    public PlaceDistanceDto toPlaceDistanceDto(PlaceNeighbor neighbor) {
+        return PlaceDistanceDto.builder()
+                .place(toPlaceMarkerDto(neighbor.getPoint()))
+                .distanceMeters(neighbor.getDistanceMeters())
+                .build();
+    }
+
+    public PlaceImportJobResponse toPlaceImportJobResponse(PlaceImportJob job, List<PlaceImportError> errors) {
+        return PlaceImportJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .processedRows(job.getProcessedRows())
+                .insertedRows(job.getInsertedRows())
+                .failedRows(job.getFailedRows())
+                .message(job.getMessage())
+                .errors(errors.stream()
+                        .map(error -> PlaceImportErrorDto.builder()
+                                .row(error.getRowNumber())
+                                .message(error.getMessage())
+                                .build())
+                        .toList())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.server.mapper;
 
 import com.example.server.dto.review.ReviewRequest;
+import com.example.server.dto.review.PlaceDto;
 import com.example.server.dto.review.ReviewResponse;
+import com.example.server.dto.review.ReviewRow;
+import com.example.server.dto.user.UserDto;
 import com.example.server.entity.Place;
 import com.example.server.entity.Review;
 import com.example.server.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class ReviewMapper {
@@ -35,4 +40,27 @@ public class ReviewMapper {
                 .updatedAt(review.getUpdatedAt())
                 .build();
     }
-} 
\ No newline at end of file
+
+    public ReviewResponse toReviewResponse(ReviewRow row, Set<Integer> userRoles) {
+        return ReviewResponse.builder()
+                .id(row.getId())
+                .place(PlaceDto.builder()
+                        .id(row.getPlaceId())
+                        .name(row.getPlaceName())
+                        .address(row.getPlaceAddress())
+                        .category(row.getPlaceCategory())
+                        .build())
+                .user(UserDto.builder()
+                        .id(row.getUserId())
+                        .email(row.getUserEmail())
+                        .firstName(row.getUserFirstName())
+                        .lastName(row.getUserLastName())
+                        .roles(userRoles)
+                        .build())
+                .rating(row.getRating())
+                .comment(row.getComment())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+}
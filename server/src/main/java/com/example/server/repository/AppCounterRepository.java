@@ -0,0 +1,28 @@
+package com.example.server.repository;
+
+import com.example.server.entity.AppCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AppCounterRepository extends JpaRepository<AppCounter, String> {
+
+    @Query("SELECT c.value FROM AppCounter c WHERE c.name = :name")
+    Optional<Long> findValue(String name);
+
+    @Modifying
+    @Query("UPDATE AppCounter c SET c.value = c.value + 1 WHERE c.name = :name")
+    int increment(String name);
+
+    @Modifying
+    @Query("UPDATE AppCounter c SET c.value = c.value + :delta WHERE c.name = :name")
+    int add(String name, long delta);
+
+    @Modifying
+    @Query("UPDATE AppCounter c SET c.value = :value WHERE c.name = :name AND c.value < :value")
+    int raiseTo(String name, long value);
+}
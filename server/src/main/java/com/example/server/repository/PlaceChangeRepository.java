@@ -0,0 +1,48 @@
+package com.example.server.repository;
+
+import com.example.server.entity.PlaceChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlaceChangeRepository extends JpaRepository<PlaceChange, Long>, PlaceChangeRepositoryCustom {
+
+    List<PlaceChange> findByIdGreaterThanOrderByIdAsc(long since, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM PlaceChange c")
+    long findLatestId();
+
+    @Modifying
+    @Query(value = "INSERT INTO place_changes (place_id, change_type, changed_at) " +
+            "SELECT DISTINCT r.place_id, 'UPDATED', :now FROM reviews r " +
+            "JOIN places p ON p.id = r.place_id AND p.approved = true WHERE r.user_id = :userId", nativeQuery = true)
+    int insertForPlacesReviewedBy(@Param("userId") Long userId, @Param("now") long now);
+
+    /**
+     * Drops entries that a later entry for the same place makes redundant: clients are always
+     * sent the current state of a place, so only its latest entry carries information.
+     */
+    @Modifying
+    @Query(value = "DELETE c FROM place_changes c " +
+            "JOIN place_changes n ON n.place_id = c.place_id AND n.id > c.id", nativeQuery = true)
+    int deleteSuperseded();
+
+    /**
+     * Tombstones are the DELETED entries, which are only logged for places that were visible;
+     * pending places never enter the log, so they neither reach clients nor move the horizon.
+     */
+    @Query(value = "SELECT MAX(c.id) FROM place_changes c " +
+            "WHERE c.change_type = 'DELETED' AND c.changed_at < :cutoff", nativeQuery = true)
+    Long findLastTombstoneBefore(@Param("cutoff") long cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM place_changes " +
+            "WHERE change_type = 'DELETED' AND id <= :lastId AND changed_at < :cutoff", nativeQuery = true)
+    int deleteTombstonesUpTo(@Param("lastId") long lastId, @Param("cutoff") long cutoff);
+}
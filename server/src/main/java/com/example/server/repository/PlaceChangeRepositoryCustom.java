@@ -0,0 +1,13 @@
+package com.example.server.repository;
+
+import com.example.server.event.PlaceChangeType;
+
+import java.util.List;
+
+public interface PlaceChangeRepositoryCustom {
+
+    /**
+     * Logs the same change for many places with one JDBC batch; entries get IDs in list order.
+     */
+    void insertAll(List<Long> placeIds, PlaceChangeType type, long changedAt);
+}
@@ -0,0 +1,26 @@
+package com.example.server.repository;
+
+import com.example.server.event.PlaceChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PlaceChangeRepositoryCustomImpl implements PlaceChangeRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Long> placeIds, PlaceChangeType type, long changedAt) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO place_changes (place_id, change_type, changed_at) VALUES (?, ?, ?)",
+                placeIds,
+                placeIds.size(),
+                (ps, placeId) -> {
+                    ps.setLong(1, placeId);
+                    ps.setString(2, type.name());
+                    ps.setLong(3, changedAt);
+                });
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.server.repository;
+
+import com.example.server.entity.PlaceImportError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlaceImportErrorRepository extends JpaRepository<PlaceImportError, Long> {
+
+    List<PlaceImportError> findByJobIdOrderByRowNumberAsc(Long jobId, Limit limit);
+
+    long countByJobId(Long jobId);
+}
@@ -0,0 +1,43 @@
+package com.example.server.repository;
+
+import com.example.server.entity.PlaceImportJob;
+import com.example.server.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlaceImportJobRepository extends JpaRepository<PlaceImportJob, Long> {
+
+    List<PlaceImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE PlaceImportJob j SET j.processedRows = j.processedRows + :processed, " +
+            "j.insertedRows = j.insertedRows + :inserted, j.failedRows = j.failedRows + :failed, " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    int addProgress(@Param("id") Long id,
+                    @Param("processed") long processed,
+                    @Param("inserted") long inserted,
+                    @Param("failed") long failed,
+                    @Param("now") long now);
+
+    @Modifying
+    @Query("UPDATE PlaceImportJob j SET j.status = :status, j.message = :message, j.updatedAt = :now, " +
+            "j.finishedAt = :finishedAt WHERE j.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") ImportJobStatus status,
+                     @Param("message") String message,
+                     @Param("now") long now,
+                     @Param("finishedAt") Long finishedAt);
+
+    @Modifying
+    @Query("UPDATE PlaceImportJob j SET j.status = com.example.server.enums.ImportJobStatus.QUEUED, " +
+            "j.message = null, j.finishedAt = null, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = com.example.server.enums.ImportJobStatus.FAILED")
+    int requeueFailed(@Param("id") Long id, @Param("now") long now);
+}
@@ -1,17 +1,65 @@
 package com.example.server.repository;
 
+import com.example.server.dto.place.PlaceModerationItemDto;
 import com.example.server.entity.Place;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PlaceRepository extends JpaRepository<Place, Long>, JpaSpecificationExecutor<Place> {
+public interface PlaceRepository extends JpaRepository<Place, Long>, JpaSpecificationExecutor<Place>, PlaceRepositoryCustom {
     Page<Place> findByApprovedFalse(Pageable pageable);
     List<Place> findByNameContainingIgnoreCase(String name);
-    List<Place> findByNameContainingIgnoreCaseAndApprovedTrue(String name);
+    List<Place> findAllByApprovedTrue();
+
+    @Query("SELECT new com.example.server.dto.place.PlaceModerationItemDto(p.id, p.name, p.address, p.lat, p.lon, " +
+            "p.category, p.wheelchairAccessible, p.tactileElements, p.brailleSignage, p.accessibleToilets, " +
+            "p.createdAt, p.createdBy.id) FROM Place p WHERE p.approved = false " +
+            "ORDER BY p.createdAt, p.id")
+    List<PlaceModerationItemDto> findModerationQueue(Limit limit);
+
+    @Query("SELECT new com.example.server.dto.place.PlaceModerationItemDto(p.id, p.name, p.address, p.lat, p.lon, " +
+            "p.category, p.wheelchairAccessible, p.tactileElements, p.brailleSignage, p.accessibleToilets, " +
+            "p.createdAt, p.createdBy.id) FROM Place p WHERE p.approved = false " +
+            "AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) " +
+            "ORDER BY p.createdAt, p.id")
+    List<PlaceModerationItemDto> findModerationQueueAfter(long createdAt, long id, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Place p WHERE p.id IN :ids AND p.approved = false ORDER BY p.id")
+    List<Place> findPendingForUpdate(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Place p SET p.approved = true WHERE p.id IN :ids AND p.approved = false")
+    int approveAll(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Place p WHERE p.id IN :ids AND p.approved = false")
+    int deletePendingAll(Collection<Long> ids);
+
+    @Query("SELECT p FROM Place p WHERE p.approved = true " +
+            "AND p.lat BETWEEN :minLat AND :maxLat " +
+            "AND p.lon BETWEEN :minLon AND :maxLon " +
+            "ORDER BY p.id")
+    List<Place> findApprovedInBounds(BigDecimal minLat, BigDecimal minLon,
+                                     BigDecimal maxLat, BigDecimal maxLon,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Place p SET " +
+            "p.reviewCount = p.reviewCount - (SELECT COUNT(r) FROM Review r WHERE r.place = p AND r.user.id = :userId), " +
+            "p.ratingSum = p.ratingSum - (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.place = p AND r.user.id = :userId) " +
+            "WHERE p.id IN (SELECT r.place.id FROM Review r WHERE r.user.id = :userId)")
+    int removeReviewRatingsByUserId(Long userId);
 } 
\ No newline at end of file
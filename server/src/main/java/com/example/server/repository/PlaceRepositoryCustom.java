@@ -0,0 +1,43 @@
+package com.example.server.repository;
+
+import com.example.server.entity.Place;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface PlaceRepositoryCustom {
+
+    /**
+     * Places matching {@code spec} in ID order, read forward only. Each place is
+     * detached before it is handed out, so the persistence context stays empty however many rows
+     * are read; lazy associations other than identifiers are therefore not available. The rows
+     * are streamed from the server, and MySQL runs no other statement on the connection until the
+     * stream is closed. The stream must be closed, and consumed inside a transaction.
+     */
+    Stream<Place> streamAll(Specification<Place> spec);
+
+    /**
+     * Inserts new places with JDBC batches instead of one statement per entity, which
+     * {@code IDENTITY} generation forces on Hibernate, and sets their generated IDs. Review
+     * aggregates start at zero; {@code createdBy} only needs its ID. Lifecycle callbacks are not
+     * run, so timestamps and score must already be set.
+     */
+    void insertAll(List<Place> places);
+
+    /**
+     * Adds to a place's review count and rating sum through one of several stripe rows picked at
+     * random, so concurrent reviews of the same place rarely wait on each other; the deltas reach
+     * {@code places}, and the change log, only when they are {@link #foldReviewRatings folded}.
+     * Holds a shared lock on the place row until commit.
+     */
+    void addReviewRating(long placeId, int countDelta, long ratingDelta);
+
+    /**
+     * Moves the pending stripe deltas of up to {@code limit} places into their {@code places}
+     * rows and returns whether each place updated is approved, by ID in ID order; only approved
+     * places enter the change log. Must run inside a transaction.
+     */
+    Map<Long, Boolean> foldReviewRatings(int limit);
+}
@@ -0,0 +1,157 @@
+package com.example.server.repository;
+
+import com.example.server.entity.Place;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+public class PlaceRepositoryCustomImpl implements PlaceRepositoryCustom {
+
+    // Tells MySQL Connector/J to stream the result row by row instead of buffering all of it
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String INSERT_SQL = "INSERT INTO places (name, address, lat, lon, " +
+            "wheelchair_accessible, tactile_elements, braille_signage, accessible_toilets, category, " +
+            "overall_accessibility_score, created_at, updated_at, approved, review_count, rating_sum, " +
+            "created_by_user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?)";
+
+    private static final int REVIEW_STRIPES = 8;
+
+    private static final String ADD_REVIEW_RATING_SQL = "INSERT INTO place_review_stripes " +
+            "(place_id, slot, review_count, rating_sum) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE review_count = review_count + VALUES(review_count), " +
+            "rating_sum = rating_sum + VALUES(rating_sum)";
+
+    private static final String LOCK_PLACE_SHARED_SQL = "SELECT id FROM places WHERE id = ? FOR SHARE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PlaceRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Stream<Place> streamAll(Specification<Place> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Place> query = cb.createQuery(Place.class);
+        Root<Place> root = query.from(Place.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAMING_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    // With rewriteBatchedStatements=true the driver sends the batch as multi-row INSERTs, and
+    // MySQL hands out the keys of each one consecutively, so they come back in row order.
+    @Override
+    public void insertAll(List<Place> places) {
+        if (places.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Place place = places.get(i);
+                        ps.setString(1, place.getName());
+                        ps.setString(2, place.getAddress());
+                        ps.setBigDecimal(3, place.getLat());
+                        ps.setBigDecimal(4, place.getLon());
+                        ps.setBoolean(5, place.isWheelchairAccessible());
+                        ps.setBoolean(6, place.isTactileElements());
+                        ps.setBoolean(7, place.isBrailleSignage());
+                        ps.setBoolean(8, place.isAccessibleToilets());
+                        if (place.getCategory() == null) {
+                            ps.setNull(9, Types.VARCHAR);
+                        } else {
+                            ps.setString(9, place.getCategory().name());
+                        }
+                        ps.setBigDecimal(10, place.getOverallAccessibilityScore());
+                        ps.setLong(11, place.getCreatedAt());
+                        ps.setLong(12, place.getUpdatedAt());
+                        ps.setBoolean(13, place.isApproved());
+                        ps.setLong(14, place.getCreatedBy().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return places.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != places.size()) {
+            throw new IllegalStateException("Expected " + places.size() + " generated keys but got " + keys.size());
+        }
+        for (int i = 0; i < places.size(); i++) {
+            places.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // The place row is share-locked explicitly: inserting a review takes that lock through the
+    // foreign key check anyway, but deleting one does not, and neither does an upsert that hits an
+    // existing stripe.
+    @Override
+    public void addReviewRating(long placeId, int countDelta, long ratingDelta) {
+        jdbcTemplate.queryForList(LOCK_PLACE_SHARED_SQL, Long.class, placeId);
+        jdbcTemplate.update(ADD_REVIEW_RATING_SQL, placeId, ThreadLocalRandom.current().nextInt(REVIEW_STRIPES),
+                countDelta, ratingDelta);
+    }
+
+    // Every stripe write holds a shared lock on its place row first (see addReviewRating), so the
+    // place rows are locked first: stripe writes for these places then wait for the fold to
+    // commit, and none can be holding a stripe the fold is about to read.
+    @Override
+    public Map<Long, Boolean> foldReviewRatings(int limit) {
+        List<Long> pending = jdbcTemplate.queryForList(
+                "SELECT DISTINCT place_id FROM place_review_stripes ORDER BY place_id LIMIT ?", Long.class, limit);
+        if (pending.isEmpty()) {
+            return Map.of();
+        }
+        String ids = String.join(",", Collections.nCopies(pending.size(), "?"));
+        Object[] args = pending.toArray();
+        Map<Long, Boolean> approved = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, approved FROM places WHERE id IN (" + ids + ") ORDER BY id FOR UPDATE", rs -> {
+            approved.put(rs.getLong("id"), rs.getBoolean("approved"));
+        }, args);
+        jdbcTemplate.update("UPDATE places p JOIN (SELECT place_id, SUM(review_count) AS review_count, " +
+                "SUM(rating_sum) AS rating_sum FROM place_review_stripes WHERE place_id IN (" + ids + ") " +
+                "GROUP BY place_id) d ON d.place_id = p.id " +
+                "SET p.review_count = p.review_count + d.review_count, p.rating_sum = p.rating_sum + d.rating_sum", args);
+        jdbcTemplate.update("DELETE FROM place_review_stripes WHERE place_id IN (" + ids + ")", args);
+        return approved;
+    }
+}
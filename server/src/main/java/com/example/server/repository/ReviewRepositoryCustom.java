@@ -0,0 +1,26 @@
+package com.example.server.repository;
+
+import com.example.server.dto.review.ReviewRoleRow;
+import com.example.server.dto.review.ReviewRow;
+import com.example.server.enums.ReviewSort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Reviews as flat rows in {@code sort} order, optionally limited to one place and/or user.
+     * When {@code afterId} is given, only rows after the key ({@code afterValue}, {@code afterId})
+     * are returned. A {@code null} limit returns every matching row.
+     */
+    List<ReviewRow> findRows(Long placeId, Long userId, ReviewSort sort, Long afterValue, Long afterId, Integer limit);
+
+    /**
+     * Same rows as {@link #findRows} without a limit, streamed from the server instead of being
+     * collected, each paired with one role of its author. MySQL runs no other statement on the
+     * connection until the stream is closed, so the roles come with the rows rather than from a
+     * query per chunk. The stream must be closed, and consumed inside a transaction.
+     */
+    Stream<ReviewRoleRow> streamRows(Long placeId, Long userId, ReviewSort sort);
+}
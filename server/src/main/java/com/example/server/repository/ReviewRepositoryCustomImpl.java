@@ -0,0 +1,81 @@
+package com.example.server.repository;
+
+import com.example.server.dto.review.ReviewRoleRow;
+import com.example.server.dto.review.ReviewRow;
+import com.example.server.enums.ReviewSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    private static final String ROW = "new com.example.server.dto.review.ReviewRow(" +
+            "r.id, r.rating, r.comment, r.createdAt, r.updatedAt, " +
+            "p.id, p.name, p.address, p.category, " +
+            "u.id, u.email, u.firstName, u.lastName)";
+
+    private static final String SELECT_ROWS = "SELECT " + ROW + " FROM Review r JOIN r.place p JOIN r.user u";
+
+    private static final String SELECT_ROLE_ROWS = "SELECT " + ROW + ", rv " +
+            "FROM Review r JOIN r.place p JOIN r.user u LEFT JOIN u.roleValues rv";
+
+    // Tells MySQL Connector/J to stream the result row by row instead of buffering all of it
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewRow> findRows(Long placeId, Long userId, ReviewSort sort, Long afterValue, Long afterId, Integer limit) {
+        TypedQuery<ReviewRow> query = createRowsQuery(SELECT_ROWS, ReviewRow.class, placeId, userId, sort, afterValue, afterId);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<ReviewRoleRow> streamRows(Long placeId, Long userId, ReviewSort sort) {
+        return createRowsQuery(SELECT_ROLE_ROWS, Object[].class, placeId, userId, sort, null, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAMING_FETCH_SIZE)
+                .getResultStream()
+                .map(columns -> new ReviewRoleRow((ReviewRow) columns[0], (Integer) columns[1]));
+    }
+
+    // Keyset condition on (key, id): with the (place_id|user_id, created_at) indexes MySQL starts the range scan at the key
+    private <T> TypedQuery<T> createRowsQuery(String select, Class<T> type, Long placeId, Long userId, ReviewSort sort,
+                                             Long afterValue, Long afterId) {
+        String key = sort == ReviewSort.RATING ? "r.rating" : "r.createdAt";
+        List<String> conditions = new ArrayList<>();
+        if (placeId != null) {
+            conditions.add("r.place.id = :placeId");
+        }
+        if (userId != null) {
+            conditions.add("r.user.id = :userId");
+        }
+        if (afterId != null) {
+            conditions.add("(" + key + " < :afterValue OR (" + key + " = :afterValue AND r.id < :afterId))");
+        }
+
+        String jpql = select
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + key + " DESC, r.id DESC";
+        TypedQuery<T> query = entityManager.createQuery(jpql, type);
+        if (placeId != null) {
+            query.setParameter("placeId", placeId);
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (afterId != null) {
+            query.setParameter("afterValue", sort == ReviewSort.RATING ? (Object) afterValue.intValue() : afterValue);
+            query.setParameter("afterId", afterId);
+        }
+        return query;
+    }
+}
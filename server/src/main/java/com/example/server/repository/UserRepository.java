@@ -2,13 +2,19 @@ package com.example.server.repository;
 
 import com.example.server.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-    Optional<User> findByRefreshToken(String refreshToken);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id AS userId, r AS roleValue FROM User u JOIN u.roleValues r WHERE u.id IN :userIds")
+    List<UserRoleValue> findRoleValuesByUserIds(@Param("userIds") Collection<Long> userIds);
 } 
\ No newline at end of file
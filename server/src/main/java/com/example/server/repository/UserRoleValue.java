@@ -0,0 +1,6 @@
+package com.example.server.repository;
+
+public interface UserRoleValue {
+    Long getUserId();
+    Integer getRoleValue();
+}
@@ -0,0 +1,146 @@
+package com.example.server.routing;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns OSM tags into the costs of walking or rolling along a way or through a node, for someone
+ * using a wheelchair. A way's cost is its length times a factor of at least 1, so the
+ * straight-line distance stays a lower bound for the search; nodes add a fixed penalty in metres.
+ * Anything a wheelchair cannot get past is {@link #IMPASSABLE}.
+ */
+final class AccessibilityCosts {
+
+    static final float IMPASSABLE = Float.POSITIVE_INFINITY;
+
+    private static final Set<String> WALKABLE_HIGHWAYS = Set.of(
+            "footway", "pedestrian", "path", "living_street", "residential", "service", "unclassified",
+            "tertiary", "tertiary_link", "secondary", "secondary_link", "primary", "primary_link",
+            "track", "steps", "corridor", "cycleway", "road", "bridleway", "elevator", "platform");
+    private static final Set<String> BUSY_ROADS = Set.of(
+            "primary", "primary_link", "secondary", "secondary_link", "tertiary", "tertiary_link");
+    private static final Set<String> BLOCKING_BARRIERS = Set.of(
+            "stile", "turnstile", "full-height_turnstile", "kissing_gate", "step", "steps", "wall", "fence");
+
+    // Unmarked kerbs may or may not be lowered; assume a small detour is worth avoiding one
+    private static final float UNKNOWN_KERB_PENALTY = 20;
+    private static final float ROLLED_KERB_PENALTY = 5;
+    private static final float CYCLE_BARRIER_PENALTY = 10;
+
+    private AccessibilityCosts() {
+    }
+
+    static float wayFactor(Map<String, String> tags) {
+        String highway = tags.get("highway");
+        if (highway == null || !WALKABLE_HIGHWAYS.contains(highway) || "yes".equals(tags.get("area"))) {
+            return IMPASSABLE;
+        }
+        String foot = tags.get("foot");
+        String access = tags.get("access");
+        String wheelchair = tags.get("wheelchair");
+        if ("no".equals(foot) || "no".equals(wheelchair)
+                || (("no".equals(access) || "private".equals(access)) && !isYes(foot))) {
+            return IMPASSABLE;
+        }
+        if ("steps".equals(highway) && !isYes(wheelchair) && !isYes(tags.get("ramp:wheelchair"))) {
+            return IMPASSABLE;
+        }
+
+        float factor = 1;
+        if ("limited".equals(wheelchair)) {
+            factor *= 1.5f;
+        }
+        if (BUSY_ROADS.contains(highway) && isNone(tags.get("sidewalk"))) {
+            factor *= 2;
+        }
+        factor *= surfaceFactor(tags.get("surface"));
+        factor *= smoothnessFactor(tags.get("smoothness"));
+        factor *= inclineFactor(tags.get("incline"));
+        return factor;
+    }
+
+    static float nodePenalty(Map<String, String> tags) {
+        if ("no".equals(tags.get("wheelchair"))) {
+            return IMPASSABLE;
+        }
+        String barrier = tags.get("barrier");
+        if (barrier != null && BLOCKING_BARRIERS.contains(barrier)) {
+            return IMPASSABLE;
+        }
+        if ("cycle_barrier".equals(barrier)) {
+            return CYCLE_BARRIER_PENALTY;
+        }
+        String kerb = tags.get("kerb");
+        if (kerb == null) {
+            return "kerb".equals(barrier) ? UNKNOWN_KERB_PENALTY : 0;
+        }
+        return switch (kerb) {
+            case "lowered", "flush", "no" -> 0;
+            case "rolled" -> ROLLED_KERB_PENALTY;
+            case "raised", "yes" -> IMPASSABLE;
+            default -> UNKNOWN_KERB_PENALTY;
+        };
+    }
+
+    private static float surfaceFactor(String surface) {
+        if (surface == null) {
+            return 1;
+        }
+        return switch (surface) {
+            case "sett", "cobblestone", "unhewn_cobblestone", "wood", "metal_grid" -> 1.5f;
+            case "compacted", "fine_gravel", "gravel", "pebblestone", "unpaved", "woodchips" -> 1.3f;
+            case "grass", "dirt", "earth", "ground", "sand", "mud", "grass_paver" -> 3;
+            default -> 1;
+        };
+    }
+
+    private static float smoothnessFactor(String smoothness) {
+        if (smoothness == null) {
+            return 1;
+        }
+        return switch (smoothness) {
+            case "bad" -> 1.5f;
+            case "very_bad" -> 2;
+            case "horrible", "very_horrible", "impassable" -> IMPASSABLE;
+            default -> 1;
+        };
+    }
+
+    // Ramps steeper than 1:12 (8.3%) are hard to use unassisted; above 12% we treat them as barriers
+    static float inclineFactor(String incline) {
+        if (incline == null) {
+            return 1;
+        }
+        double percent;
+        String value = incline.trim();
+        try {
+            if (value.endsWith("%")) {
+                percent = Math.abs(Double.parseDouble(value.substring(0, value.length() - 1).trim()));
+            } else if (value.endsWith("\u00B0")) {
+                double degrees = Double.parseDouble(value.substring(0, value.length() - 1).trim());
+                percent = Math.abs(Math.tan(Math.toRadians(degrees)) * 100);
+            } else if ("up".equals(value) || "down".equals(value) || "yes".equals(value)) {
+                return 1.2f;
+            } else {
+                percent = Math.abs(Double.parseDouble(value));
+            }
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+        if (percent > 12) {
+            return IMPASSABLE;
+        }
+        if (percent > 8) {
+            return 3;
+        }
+        return percent > 6 ? 1.5f : 1;
+    }
+
+    private static boolean isYes(String value) {
+        return "yes".equals(value) || "designated".equals(value) || "permissive".equals(value);
+    }
+
+    private static boolean isNone(String value) {
+        return "no".equals(value) || "none".equals(value);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.server.routing;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Builds a {@link RoutingGraph} from an OSM XML extract ({@code .osm} or {@code .osm.gz}).
+ * <p>
+ * The file is streamed twice with StAX and never held in memory. The first pass keeps the
+ * segments of walkable ways and numbers the nodes they use; the second reads the positions and
+ * barrier tags of just those nodes. Memory therefore grows with the walkable network, not with
+ * the size of the extract.
+ */
+public class OsmGraphLoader {
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final Path file;
+    private final XMLInputFactory xmlInputFactory;
+    private final Map<String, String> tags = new HashMap<>();
+
+    private LongIntHashMap nodeIndexes = new LongIntHashMap(INITIAL_CAPACITY);
+    private int[] segmentFrom = new int[INITIAL_CAPACITY];
+    private int[] segmentTo = new int[INITIAL_CAPACITY];
+    private float[] segmentFactor = new float[INITIAL_CAPACITY];
+    private int segmentCount;
+    private long[] wayNodes = new long[256];
+
+    private OsmGraphLoader(Path file) {
+        this.file = file;
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public static RoutingGraph load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".pbf")) {
+            throw new IOException("PBF extracts are not supported, convert " + name + " to .osm.gz first, e.g. with osmium cat");
+        }
+        OsmGraphLoader loader = new OsmGraphLoader(file);
+        try {
+            loader.readWays();
+            return loader.readNodesAndBuild();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void readWays() throws IOException, XMLStreamException {
+        try (InputStream in = open()) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            boolean inWay = false;
+            int wayNodeCount = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("way".equals(element)) {
+                        inWay = true;
+                        wayNodeCount = 0;
+                        tags.clear();
+                    } else if (inWay && "nd".equals(element)) {
+                        if (wayNodeCount == wayNodes.length) {
+                            wayNodes = Arrays.copyOf(wayNodes, wayNodeCount * 2);
+                        }
+                        wayNodes[wayNodeCount++] = Long.parseLong(reader.getAttributeValue(null, "ref"));
+                    } else if (inWay && "tag".equals(element)) {
+                        tags.put(reader.getAttributeValue(null, "k"), reader.getAttributeValue(null, "v"));
+                    } else if ("relation".equals(element)) {
+                        break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && inWay && "way".equals(reader.getLocalName())) {
+                    inWay = false;
+                    addWay(wayNodeCount);
+                }
+            }
+            reader.close();
+        }
+    }
+
+    private void addWay(int wayNodeCount) {
+        float factor = AccessibilityCosts.wayFactor(tags);
+        if (Float.isInfinite(factor) || wayNodeCount < 2) {
+            return;
+        }
+        int previous = nodeIndex(wayNodes[0]);
+        for (int i = 1; i < wayNodeCount; i++) {
+            int current = nodeIndex(wayNodes[i]);
+            if (segmentCount == segmentFrom.length) {
+                segmentFrom = Arrays.copyOf(segmentFrom, segmentCount * 2);
+                segmentTo = Arrays.copyOf(segmentTo, segmentCount * 2);
+                segmentFactor = Arrays.copyOf(segmentFactor, segmentCount * 2);
+            }
+            segmentFrom[segmentCount] = previous;
+            segmentTo[segmentCount] = current;
+            segmentFactor[segmentCount++] = factor;
+            previous = current;
+        }
+    }
+
+    private int nodeIndex(long osmId) {
+        return nodeIndexes.putIfAbsent(osmId, nodeIndexes.size());
+    }
+
+    // Nodes missing from a clipped extract keep NaN positions and lose their segments
+    private RoutingGraph readNodesAndBuild() throws IOException, XMLStreamException {
+        int nodeCount = nodeIndexes.size();
+        double[] lat = new double[nodeCount];
+        double[] lon = new double[nodeCount];
+        float[] penalty = new float[nodeCount];
+        Arrays.fill(lat, Double.NaN);
+        Arrays.fill(lon, Double.NaN);
+
+        try (InputStream in = open()) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            int current = LongIntHashMap.MISSING;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("node".equals(element)) {
+                        current = nodeIndexes.get(Long.parseLong(reader.getAttributeValue(null, "id")));
+                        if (current != LongIntHashMap.MISSING) {
+                            lat[current] = Double.parseDouble(reader.getAttributeValue(null, "lat"));
+                            lon[current] = Double.parseDouble(reader.getAttributeValue(null, "lon"));
+                            tags.clear();
+                        }
+                    } else if (current != LongIntHashMap.MISSING && "tag".equals(element)) {
+                        tags.put(reader.getAttributeValue(null, "k"), reader.getAttributeValue(null, "v"));
+                    } else if ("way".equals(element) || "relation".equals(element)) {
+                        // Extracts list all nodes before the first way
+                        break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "node".equals(reader.getLocalName())) {
+                    if (current != LongIntHashMap.MISSING && !tags.isEmpty()) {
+                        penalty[current] = AccessibilityCosts.nodePenalty(tags);
+                    }
+                    current = LongIntHashMap.MISSING;
+                }
+            }
+            reader.close();
+        }
+
+        nodeIndexes = null;
+        return RoutingGraph.build(lat, lon, penalty, nodeCount, segmentFrom, segmentTo, segmentFactor, segmentCount);
+    }
+
+    private InputStream open() throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.server.routing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A path through the routing graph. {@code lats}/{@code lons} hold the node positions in walking
+ * order; cost is the accessibility-weighted length the search minimised.
+ */
+@Getter
+@RequiredArgsConstructor
+public class Route {
+    private final double[] lats;
+    private final double[] lons;
+    private final double distanceMeters;
+    private final double cost;
+}
@@ -0,0 +1,439 @@
+package com.example.server.routing;
+
+import com.example.server.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable street graph for accessible routing, held in primitive arrays only.
+ * <p>
+ * Adjacency is compressed sparse row: the edges leaving node {@code n} are
+ * {@code offsets[n]..offsets[n + 1]} of {@code targets} and {@code costs}. Every segment is
+ * stored in both directions; a segment touching a node nobody can pass is left out.
+ * <p>
+ * Searches are A* with the chord length through the earth as heuristic. Chord length never
+ * exceeds the great-circle length and edge costs never fall below it, so the heuristic is
+ * consistent and routes are optimal. Only nodes in the largest connected component are used as
+ * start or end points, so two snapped points always have a route between them.
+ * <p>
+ * Each search needs per-node arrays the size of the graph. They are reused from a pool holding
+ * at most one set per processor, so memory stays bounded however many request threads route;
+ * searches beyond that wait for a set to come back, which costs nothing they would not lose to
+ * CPU contention anyway. The wait is bounded, so a search that does not get a set in time fails
+ * with {@link RejectedExecutionException} instead of holding its request thread.
+ */
+public class RoutingGraph {
+
+    private static final double CELL_DEGREES = 0.002;
+    private static final double METERS_PER_DEGREE = Math.PI * GeoUtils.EARTH_RADIUS_METERS / 180;
+    private static final long SEARCH_STATE_WAIT_MILLIS = 2_000;
+
+    private final int nodeCount;
+    private final double[] lat;
+    private final double[] lon;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final int[] offsets;
+    private final int[] targets;
+    private final float[] costs;
+
+    // Start and end candidates grouped by grid cell, cells sorted by key
+    private final long[] cellKeys;
+    private final int[] cellStarts;
+    private final int[] cellNodes;
+
+    private final int maxSearchStates = Runtime.getRuntime().availableProcessors();
+    private final BlockingQueue<SearchState> searchStates = new ArrayBlockingQueue<>(maxSearchStates);
+    private final AtomicInteger createdSearchStates = new AtomicInteger();
+
+    private RoutingGraph(double[] lat, double[] lon, int nodeCount, int[] offsets, int[] targets, float[] costs,
+                         boolean[] routable) {
+        this.nodeCount = nodeCount;
+        this.lat = lat;
+        this.lon = lon;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.x = new double[nodeCount];
+        this.y = new double[nodeCount];
+        this.z = new double[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            if (!Double.isNaN(lat[node])) {
+                double phi = Math.toRadians(lat[node]);
+                double lambda = Math.toRadians(lon[node]);
+                x[node] = Math.cos(phi) * Math.cos(lambda);
+                y[node] = Math.cos(phi) * Math.sin(lambda);
+                z[node] = Math.sin(phi);
+            }
+        }
+
+        long[] keys = new long[nodeCount];
+        int candidates = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (routable[node]) {
+                keys[candidates++] = cellKey(lat[node], lon[node]);
+            }
+        }
+        long[] sortedKeys = Arrays.copyOf(keys, candidates);
+        Arrays.sort(sortedKeys);
+        int cells = 0;
+        for (int i = 0; i < candidates; i++) {
+            if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) {
+                sortedKeys[cells++] = sortedKeys[i];
+            }
+        }
+        this.cellKeys = Arrays.copyOf(sortedKeys, cells);
+
+        // Counting sort of the candidates by cell
+        int[] nodeCells = new int[candidates];
+        this.cellStarts = new int[cells + 1];
+        for (int i = 0; i < candidates; i++) {
+            nodeCells[i] = Arrays.binarySearch(cellKeys, keys[i]);
+            cellStarts[nodeCells[i] + 1]++;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        this.cellNodes = new int[candidates];
+        int[] next = Arrays.copyOf(cellStarts, cells);
+        int i = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (routable[node]) {
+                cellNodes[next[nodeCells[i++]]++] = node;
+            }
+        }
+    }
+
+    /**
+     * Builds the graph from segments between node indexes. A segment's cost in each direction is
+     * its length times its factor plus the penalty of the node it enters; nodes without a
+     * position (not in the extract) and impassable nodes drop their segments.
+     */
+    static RoutingGraph build(double[] lat, double[] lon, float[] nodePenalty, int nodeCount,
+                              int[] segmentFrom, int[] segmentTo, float[] segmentFactor, int segmentCount) {
+        int[] degree = new int[nodeCount + 1];
+        float[] lengths = new float[segmentCount];
+        int[] component = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            component[node] = node;
+        }
+
+        for (int s = 0; s < segmentCount; s++) {
+            int a = segmentFrom[s];
+            int b = segmentTo[s];
+            if (a == b || Double.isNaN(lat[a]) || Double.isNaN(lat[b])
+                    || Float.isInfinite(nodePenalty[a]) || Float.isInfinite(nodePenalty[b])) {
+                lengths[s] = Float.NaN;
+                continue;
+            }
+            lengths[s] = (float) GeoUtils.distanceMeters(lat[a], lon[a], lat[b], lon[b]);
+            degree[a]++;
+            degree[b]++;
+            union(component, a, b);
+        }
+
+        int[] offsets = new int[nodeCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] = offsets[node] + degree[node];
+        }
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[offsets[nodeCount]];
+        float[] costs = new float[offsets[nodeCount]];
+        for (int s = 0; s < segmentCount; s++) {
+            if (Float.isNaN(lengths[s])) {
+                continue;
+            }
+            int a = segmentFrom[s];
+            int b = segmentTo[s];
+            float base = lengths[s] * segmentFactor[s];
+            targets[next[a]] = b;
+            costs[next[a]++] = base + nodePenalty[b];
+            targets[next[b]] = a;
+            costs[next[b]++] = base + nodePenalty[a];
+        }
+
+        int[] componentSize = new int[nodeCount];
+        int largest = -1;
+        for (int node = 0; node < nodeCount; node++) {
+            if (degree[node] > 0) {
+                int root = find(component, node);
+                if (++componentSize[root] > (largest < 0 ? 0 : componentSize[largest])) {
+                    largest = root;
+                }
+            }
+        }
+        boolean[] routable = new boolean[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            routable[node] = degree[node] > 0 && find(component, node) == largest;
+        }
+        return new RoutingGraph(lat, lon, nodeCount, offsets, targets, costs, routable);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * The routable node nearest to the point, or -1 if there is none within {@code maxMeters}.
+     */
+    public int nearestNode(double pointLat, double pointLon, double maxMeters) {
+        long centerLat = (long) Math.floor(pointLat / CELL_DEGREES);
+        long centerLon = (long) Math.floor(pointLon / CELL_DEGREES);
+        double cellMeters = CELL_DEGREES * METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(Math.min(89, Math.abs(pointLat) + CELL_DEGREES))));
+        int maxRing = (int) Math.ceil(maxMeters / cellMeters) + 1;
+
+        int best = -1;
+        double bestDistance = maxMeters;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell on this ring is at least (ring - 1) cells away from the point
+            if (best >= 0 && (ring - 1) * cellMeters > bestDistance) {
+                break;
+            }
+            for (long cellLat = centerLat - ring; cellLat <= centerLat + ring; cellLat++) {
+                for (long cellLon = centerLon - ring; cellLon <= centerLon + ring; cellLon++) {
+                    if (Math.abs(cellLat - centerLat) != ring && Math.abs(cellLon - centerLon) != ring) {
+                        continue;
+                    }
+                    int cell = Arrays.binarySearch(cellKeys, cellKey(cellLat, cellLon));
+                    if (cell < 0) {
+                        continue;
+                    }
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        int node = cellNodes[i];
+                        double distance = GeoUtils.distanceMeters(pointLat, pointLon, lat[node], lon[node]);
+                        if (distance <= bestDistance) {
+                            best = node;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The cheapest route between two routable nodes, or {@code null} if there is none.
+     */
+    public Route route(int from, int to) {
+        SearchState state = acquireSearchState();
+        try {
+            return search(state, from, to);
+        } finally {
+            searchStates.offer(state);
+        }
+    }
+
+    private SearchState acquireSearchState() {
+        SearchState state = searchStates.poll();
+        if (state != null) {
+            return state;
+        }
+        if (createdSearchStates.incrementAndGet() <= maxSearchStates) {
+            return new SearchState(nodeCount);
+        }
+        createdSearchStates.decrementAndGet();
+        try {
+            state = searchStates.poll(SEARCH_STATE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to route", e);
+        }
+        if (state == null) {
+            throw new RejectedExecutionException("Every route search is busy");
+        }
+        return state;
+    }
+
+    private Route search(SearchState state, int from, int to) {
+        int generation = state.nextGeneration();
+        int[] seen = state.seen;
+        int[] closed = state.closed;
+        float[] g = state.g;
+        int[] parent = state.parent;
+        MinHeap heap = state.heap;
+        heap.clear();
+
+        double tx = x[to];
+        double ty = y[to];
+        double tz = z[to];
+        seen[from] = generation;
+        g[from] = 0;
+        parent[from] = -1;
+        heap.push(from, (float) heuristic(from, tx, ty, tz));
+
+        while (!heap.isEmpty()) {
+            int node = heap.pop();
+            if (closed[node] == generation) {
+                continue;
+            }
+            closed[node] = generation;
+            if (node == to) {
+                return buildRoute(parent, to, g[to]);
+            }
+            float base = g[node];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int target = targets[e];
+                if (closed[target] == generation) {
+                    continue;
+                }
+                float cost = base + costs[e];
+                if (seen[target] != generation || cost < g[target]) {
+                    seen[target] = generation;
+                    g[target] = cost;
+                    parent[target] = node;
+                    heap.push(target, cost + (float) heuristic(target, tx, ty, tz));
+                }
+            }
+        }
+        return null;
+    }
+
+    private double heuristic(int node, double tx, double ty, double tz) {
+        double dx = x[node] - tx;
+        double dy = y[node] - ty;
+        double dz = z[node] - tz;
+        return GeoUtils.EARTH_RADIUS_METERS * Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private Route buildRoute(int[] parent, int to, float cost) {
+        int length = 0;
+        for (int node = to; node >= 0; node = parent[node]) {
+            length++;
+        }
+        double[] lats = new double[length];
+        double[] lons = new double[length];
+        int i = length;
+        for (int node = to; node >= 0; node = parent[node]) {
+            lats[--i] = lat[node];
+            lons[i] = lon[node];
+        }
+        double distance = 0;
+        for (int j = 1; j < length; j++) {
+            distance += GeoUtils.distanceMeters(lats[j - 1], lons[j - 1], lats[j], lons[j]);
+        }
+        return new Route(lats, lons, distance, cost);
+    }
+
+    private static long cellKey(double pointLat, double pointLon) {
+        return cellKey((long) Math.floor(pointLat / CELL_DEGREES), (long) Math.floor(pointLon / CELL_DEGREES));
+    }
+
+    private static long cellKey(long cellLat, long cellLon) {
+        return (cellLat << 32) ^ (cellLon & 0xFFFFFFFFL);
+    }
+
+    private static int find(int[] component, int node) {
+        while (component[node] != node) {
+            component[node] = component[component[node]];
+            node = component[node];
+        }
+        return node;
+    }
+
+    private static void union(int[] component, int a, int b) {
+        int rootA = find(component, a);
+        int rootB = find(component, b);
+        if (rootA != rootB) {
+            component[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    /**
+     * Arrays for one search, reused through the pool; entries only count when stamped with the current
+     * generation, so nothing is cleared between searches.
+     */
+    private static final class SearchState {
+        private final int[] seen;
+        private final int[] closed;
+        private final float[] g;
+        private final int[] parent;
+        private final MinHeap heap = new MinHeap();
+        private int generation;
+
+        SearchState(int nodeCount) {
+            this.seen = new int[nodeCount];
+            this.closed = new int[nodeCount];
+            this.g = new float[nodeCount];
+            this.parent = new int[nodeCount];
+        }
+
+        int nextGeneration() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Binary heap of nodes keyed by estimated total cost; stale entries are skipped when popped.
+     */
+    private static final class MinHeap {
+        private int[] nodes = new int[256];
+        private float[] keys = new float[256];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int node, float key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            float lastKey = keys[size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (lastKey <= keys[child]) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            nodes[i] = lastNode;
+            keys[i] = lastKey;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.server.security;
+
+import com.example.server.entity.User;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by an access token. Unlike {@link User} it carries no
+ * password and is not a JPA entity, so it can be built from token claims or kept in a cache.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class AuthenticatedUser implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    public static AuthenticatedUser from(TokenClaims claims) {
+        return new AuthenticatedUser(claims.getUserId(), claims.getSubject(), claims.getAuthorities().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList());
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), List.copyOf(user.getAuthorities()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
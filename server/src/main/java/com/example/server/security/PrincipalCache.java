@@ -0,0 +1,87 @@
+package com.example.server.security;
+
+import com.example.server.cache.ExpiringLruCache;
+import com.example.server.event.UserChangedEvent;
+import com.example.server.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the principal of an access token with as few database round-trips as possible.
+ * <p>
+ * With {@code jwt.stateless-principal} on, tokens carrying a user id are trusted as they are,
+ * unless the user changed after the token was issued; everything else is looked up by email
+ * through a bounded cache. Both paths forget a user once {@link UserChangedEvent} commits.
+ * <p>
+ * That event only reaches the instance that made the change, so stateless principals are for
+ * single-instance deployments: elsewhere a demoted or deleted user keeps their old roles until
+ * the access token expires. The flag is off by default, which loads every principal through the
+ * cache, whose entries other instances keep for at most {@code jwt.principal-cache.ttl}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final ExpiringLruCache<String, AuthenticatedUser> usersByEmail;
+    private final Duration ttl;
+    private final Duration accessTokenLifetime;
+    private final boolean statelessPrincipal;
+
+    // Users changed within the lifetime of an access token, with the time of their latest change
+    private final Map<Long, Instant> changedAt = new ConcurrentHashMap<>();
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${jwt.principal-cache.size}") int size,
+                          @Value("${jwt.principal-cache.ttl}") Duration ttl,
+                          @Value("${jwt.access-token.expiration}") long accessTokenExpiration,
+                          @Value("${jwt.stateless-principal}") boolean statelessPrincipal) {
+        this.userRepository = userRepository;
+        this.usersByEmail = new ExpiringLruCache<>(size);
+        this.ttl = ttl;
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenExpiration);
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    public AuthenticatedUser resolve(TokenClaims claims) {
+        if (statelessPrincipal && claims.getUserId() != null && !changedSince(claims.getUserId(), claims.getIssuedAt())) {
+            return AuthenticatedUser.from(claims);
+        }
+        return load(claims.getSubject());
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        Instant now = Instant.now();
+        changedAt.put(event.getUserId(), now);
+        changedAt.values().removeIf(time -> time.isBefore(now.minus(accessTokenLifetime)));
+        if (event.getEmail() != null) {
+            usersByEmail.invalidate(event.getEmail());
+        }
+    }
+
+    private AuthenticatedUser load(String email) {
+        AuthenticatedUser cached = usersByEmail.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        AuthenticatedUser user = userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        usersByEmail.put(email, user, System.currentTimeMillis() + ttl.toMillis());
+        return user;
+    }
+
+    // Token issue times have whole-second precision, so a token from the same second counts as older
+    private boolean changedSince(Long userId, Instant issuedAt) {
+        Instant changed = changedAt.get(userId);
+        return changed != null && (issuedAt == null || !issuedAt.isAfter(changed.truncatedTo(ChronoUnit.SECONDS)));
+    }
+}
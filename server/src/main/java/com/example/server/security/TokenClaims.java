@@ -0,0 +1,26 @@
+package com.example.server.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ */
+@Value
+public class TokenClaims {
+    String subject;
+
+    /**
+     * Id of the user, or {@code null} for tokens issued before the id was included.
+     */
+    Long userId;
+    List<String> authorities;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
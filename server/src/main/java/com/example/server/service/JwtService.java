@@ -1,12 +1,18 @@
 package com.example.server.service;
 
 import com.example.server.entity.User;
+import com.example.server.security.TokenClaims;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 public interface JwtService {
     String generateAccessToken(UserDetails userDetails);
     String generateRefreshToken(User user);
-    boolean isAccessTokenValid(String token, UserDetails userDetails);
-    boolean isRefreshTokenValid(String token, User user);
-    String extractUsername(String token);
-} 
\ No newline at end of file
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims, or an empty
+     * result when the token is malformed, forged or expired.
+     */
+    Optional<TokenClaims> verifyToken(String token);
+}
@@ -0,0 +1,33 @@
+package com.example.server.service;
+
+import com.example.server.dto.place.PlaceChangesResponse;
+import com.example.server.event.PlaceChangeType;
+
+import java.util.List;
+
+public interface PlaceChangeService {
+
+    /**
+     * Logs a change of one place and moves the place data version on. Must be called inside the
+     * transaction that makes the change, after its other writes, and only for changes clients
+     * can see: approving a place, or updating or deleting an approved one.
+     */
+    void record(Long placeId, PlaceChangeType type);
+
+    /**
+     * Logs the same change for many places with a single version bump; same rules as
+     * {@link #record}.
+     */
+    void recordAll(List<Long> placeIds, PlaceChangeType type);
+
+    /**
+     * Logs an update of every place the user has reviewed; called before those reviews go away.
+     */
+    void recordPlacesReviewedBy(Long userId);
+
+    PlaceChangesResponse getChangesSince(long since, int limit);
+
+    long getLatestVersion();
+
+    void compact();
+}
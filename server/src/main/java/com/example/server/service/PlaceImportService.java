@@ -0,0 +1,23 @@
+package com.example.server.service;
+
+import com.example.server.dto.place.PlaceImportJobResponse;
+import com.example.server.enums.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PlaceImportService {
+
+    /**
+     * Stores the uploaded file and queues it for import by the current user; the places are
+     * created unapproved, as if each row had been posted to {@code /places}.
+     */
+    PlaceImportJobResponse startImport(ImportFormat format, InputStream content) throws IOException;
+
+    PlaceImportJobResponse getImportJob(Long id);
+
+    /**
+     * Queues a failed import again; it continues after the last batch it committed.
+     */
+    PlaceImportJobResponse resumeImport(Long id);
+}
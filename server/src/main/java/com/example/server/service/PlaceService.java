@@ -1,17 +1,53 @@
 package com.example.server.service;
 
+import com.example.server.dto.common.CursorPageResponse;
 import com.example.server.dto.common.PageResponse;
 import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
+import com.example.server.dto.place.PlaceBoundsDto;
+import com.example.server.dto.place.PlaceClusterResponse;
+import com.example.server.dto.place.PlaceDistanceDto;
+import com.example.server.dto.place.PlaceFacetsResponse;
 import com.example.server.dto.place.PlaceFilterDto;
+import com.example.server.dto.place.PlaceModerationQueueResponse;
+import com.example.server.dto.place.PlaceModerationRequest;
+import com.example.server.dto.place.PlaceModerationResponse;
 import com.example.server.dto.place.PlaceRequest;
 import com.example.server.dto.place.PlaceResponse;
 import com.example.server.dto.place.PlaceUpdateRequest;
+import com.example.server.index.PlaceSnapshot;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface PlaceService {
-    List<PlaceResponse> getAllPlaces(PlaceFilterDto filter);
+    CursorPageResponse<PlaceResponse> getAllPlaces(PlaceFilterDto filter);
+
+    void writeAllPlaces(PlaceFilterDto filter, OutputStream out) throws IOException;
+
+    List<PlaceResponse> getPlacesInBounds(PlaceBoundsDto bounds);
+
+    PlaceClusterResponse getPlaceClusters(String bbox, int zoom);
+
+    byte[] getPlaceTile(int zoom, long x, long y);
+
+    List<PlaceDistanceDto> getPlacesNearby(double lat, double lon, double radiusMeters, int limit);
+
+    /**
+     * The {@code k} approved places nearest to the point that have all the given accessibility
+     * features and one of the given categories; both are comma separated and optional.
+     */
+    List<PlaceDistanceDto> getNearestPlaces(double lat, double lon, int k, String features, String categories);
+
+    /**
+     * Counts the approved places matching the filter, per category and per accessibility feature.
+     * Features are comma separated and all required; {@code |} separates alternatives, so
+     * {@code A,B|C} means A and either B or C. Categories are comma separated, any of which matches.
+     */
+    PlaceFacetsResponse getPlaceFacets(String features, String categories);
+
+    PlaceSnapshot getPlaceSnapshot();
 
     PlaceResponse getPlaceById(Long id);
 
@@ -23,5 +59,22 @@ public interface PlaceService {
 
     PageResponse<PlaceResponse> getUnapprovedPlaces(Pageable pageable);
 
+    /**
+     * Places awaiting moderation, oldest first, paged by a {@code createdAt_id} cursor.
+     */
+    PlaceModerationQueueResponse getModerationQueue(String cursor, int size);
+
     PlaceResponse approvePlace(Long id);
+
+    /**
+     * Approves the selected places in chunks, each committed on its own, so a large backlog does
+     * not hold locks for the whole run.
+     */
+    PlaceModerationResponse approvePlaces(PlaceModerationRequest request);
+
+    /**
+     * Deletes the selected places that are still awaiting moderation, in chunks like
+     * {@link #approvePlaces}.
+     */
+    PlaceModerationResponse rejectPlaces(PlaceModerationRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.server.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public interface PlaceStreamService {
+
+    /**
+     * Opens a feed of place changes, optionally limited to a {@code minLon,minLat,maxLon,maxLat}
+     * box and a comma-separated list of categories. With {@code since}, changes after that
+     * version are replayed first. The request is switched to async mode and the events are written
+     * to the response until the client disconnects, the stream times out or it falls behind.
+     */
+    void subscribe(String bbox, String categories, Long since,
+                   HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.example.server.service;
+
+import com.example.server.entity.RefreshToken;
+import com.example.server.entity.User;
+
+public interface RefreshTokenService {
+
+    /**
+     * Creates and stores a refresh token. A {@code null} family starts a new device session.
+     */
+    String issue(User user, String familyId);
+
+    /**
+     * Consumes a refresh token so it can be rotated, returning its row with the user loaded.
+     * Presenting an already used token revokes its whole family.
+     */
+    RefreshToken use(String token);
+
+    void revoke(String token);
+
+    void deleteExpired();
+}
@@ -1,17 +1,29 @@
 package com.example.server.service;
 
+import com.example.server.dto.common.CursorPageResponse;
+import com.example.server.dto.review.ReviewFilterDto;
 import com.example.server.dto.review.ReviewRequest;
 import com.example.server.dto.review.ReviewResponse;
 import com.example.server.dto.review.ReviewUpdateRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReviewService {
     List<ReviewResponse> getAllReviews();
+    void writeAllReviews(OutputStream out) throws IOException;
     List<ReviewResponse> getReviewsByPlaceId(Long placeId);
     List<ReviewResponse> getReviewsByUserId(Long userId);
+    CursorPageResponse<ReviewResponse> getReviewPage(ReviewFilterDto filter);
     ReviewResponse getReviewById(Long id);
     ReviewResponse createReview(ReviewRequest request);
     ReviewResponse updateReview(Long id, ReviewUpdateRequest request);
     void deleteReview(Long id);
+
+    /**
+     * Moves the review counts and rating sums written since the last run into the places and
+     * records the affected places as changed.
+     */
+    void foldReviewRatings();
 } 
\ No newline at end of file
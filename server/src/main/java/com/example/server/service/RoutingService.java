@@ -0,0 +1,12 @@
+package com.example.server.service;
+
+import com.example.server.dto.route.RouteResponse;
+
+public interface RoutingService {
+
+    /**
+     * Finds the most accessible walking route between two "lat,lon" points, snapped to the
+     * nearest walkable node of the offline graph.
+     */
+    RouteResponse getAccessibleRoute(String from, String to);
+}
@@ -3,12 +3,14 @@ package com.example.server.service.impl;
 import com.example.server.dto.user.AuthRequest;
 import com.example.server.dto.user.AuthResponse;
 import com.example.server.dto.user.UserRequest;
+import com.example.server.entity.RefreshToken;
 import com.example.server.entity.User;
 import com.example.server.enums.Role;
 import com.example.server.exception.AuthenticationException;
 import com.example.server.repository.UserRepository;
 import com.example.server.service.AuthService;
 import com.example.server.service.JwtService;
+import com.example.server.service.RefreshTokenService;
 import com.example.server.util.CookieUtil;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -28,11 +30,11 @@ import java.util.Set;
 public class AuthServiceImpl implements AuthService {
 
     private static final String REFRESH_TOKEN_MISSING = "Refresh token is missing";
-    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
     private final CookieUtil cookieUtil;
 
@@ -41,7 +43,7 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse login(AuthRequest request, HttpServletResponse response) {
         authenticateUser(request.getEmail(), request.getPassword());
         User user = findUserByEmail(request.getEmail());
-        return createAuthResponseAndSetCookie(user, response);
+        return createAuthResponseAndSetCookie(user, null, response);
     }
 
     @Override
@@ -54,35 +56,25 @@ public class AuthServiceImpl implements AuthService {
         User user = createNewUser(request);
         userRepository.save(user);
         
-        return createAuthResponseAndSetCookie(user, response);
+        return createAuthResponseAndSetCookie(user, null, response);
     }
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = AuthenticationException.class)
     public AuthResponse refreshToken(String refreshToken, HttpServletResponse response) {
         validateRefreshToken(refreshToken);
-        
-        User user = userRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(() -> new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED));
-
-        if (!jwtService.isRefreshTokenValid(refreshToken, user)) {
-            throw new AuthenticationException("Refresh token expired", HttpStatus.UNAUTHORIZED);
-        }
 
-        return createAuthResponseAndSetCookie(user, response);
+        RefreshToken used = refreshTokenService.use(refreshToken);
+        return createAuthResponseAndSetCookie(used.getUser(), used.getFamilyId(), response);
     }
 
     @Override
     @Transactional
     public void logout(String refreshToken, HttpServletResponse response) {
         validateRefreshToken(refreshToken);
-        
-        User user = userRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(() -> new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED));
-        
-        user.setRefreshToken("");
-        userRepository.save(user);
-        
+
+        refreshTokenService.revoke(refreshToken);
+
         cookieUtil.clearRefreshTokenCookie(response);
     }
 
@@ -120,12 +112,9 @@ public class AuthServiceImpl implements AuthService {
         return user;
     }
 
-    private AuthResponse createAuthResponseAndSetCookie(User user, HttpServletResponse response) {
+    private AuthResponse createAuthResponseAndSetCookie(User user, String familyId, HttpServletResponse response) {
         String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-        
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
+        String refreshToken = refreshTokenService.issue(user, familyId);
 
         cookieUtil.setRefreshTokenCookie(response, refreshToken);
 
@@ -1,9 +1,12 @@
 package com.example.server.service.impl;
 
+import com.example.server.cache.ExpiringLruCache;
 import com.example.server.entity.User;
+import com.example.server.security.TokenClaims;
 import com.example.server.service.JwtService;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -13,61 +16,107 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-    
-    @Value("${jwt.access-token.expiration}")
-    private long accessTokenExpiration;
-    
-    @Value("${jwt.refresh-token.expiration}")
-    private long refreshTokenExpiration;
+    private static final String AUTHORITIES_CLAIM = "authorities";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+    // Tokens that already passed verification, keyed by the SHA-256 of the token
+    private final ExpiringLruCache<TokenDigest, TokenClaims> verifiedTokens;
+
+    public JwtServiceImpl(@Value("${jwt.secret-key}") String secretKey,
+                          @Value("${jwt.access-token.expiration}") long accessTokenExpiration,
+                          @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration,
+                          @Value("${jwt.verified-cache-size}") int verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verifiedTokens = verifiedCacheSize > 0 ? new ExpiringLruCache<>(verifiedCacheSize) : null;
+    }
 
     @Override
     public String generateAccessToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("authorities", userDetails.getAuthorities().stream()
+        extraClaims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        if (userDetails instanceof User user) {
+            extraClaims.put(USER_ID_CLAIM, user.getId());
+        }
         return generateToken(extraClaims, userDetails, accessTokenExpiration);
     }
 
     @Override
     public String generateRefreshToken(User user) {
-        return generateToken(new HashMap<>(), user, refreshTokenExpiration);
+        Map<String, Object> extraClaims = new HashMap<>();
+        // Unique id, so two refresh tokens issued within the same second never collide
+        extraClaims.put(Claims.ID, UUID.randomUUID().toString());
+        return generateToken(extraClaims, user, refreshTokenExpiration);
     }
 
     @Override
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    public Optional<TokenClaims> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
 
-    @Override
-    public boolean isAccessTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+        TokenDigest digest = TokenDigest.of(token);
+        TokenClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return Optional.of(cached);
         }
+        Optional<TokenClaims> claims = parse(token);
+        claims.ifPresent(verified -> verifiedTokens.put(digest, verified, verified.getExpiresAt().toEpochMilli()));
+        return claims;
     }
 
-    @Override
-    public boolean isRefreshTokenValid(String token, User user) {
+    private Optional<TokenClaims> parse(String token) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(user.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            TokenClaims verified = new TokenClaims(
+                    claims.getSubject(),
+                    userId(claims),
+                    authorities(claims),
+                    claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant());
+            return verified.isExpired(Instant.now()) ? Optional.empty() : Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
@@ -77,37 +126,28 @@ public class JwtServiceImpl implements JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        }
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static Long userId(Claims claims) {
+        return claims.get(USER_ID_CLAIM) instanceof Number id ? id.longValue() : null;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static List<String> authorities(Claims claims) {
+        Object value = claims.get(AUTHORITIES_CLAIM);
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .map(String::valueOf)
+                .toList();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record TokenDigest(long a, long b, long c, long d) {
+        static TokenDigest of(String token) {
+            ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,62 +1,114 @@
 package com.example.server.service.impl;
 
+import com.example.server.cache.GeocodingCache;
 import com.example.server.dto.openstreetmap.OpenStreetMapResponse;
 import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
-import com.example.server.entity.Place;
-import com.example.server.repository.PlaceRepository;
+import com.example.server.index.PlaceSearchIndex;
 import com.example.server.service.OpenStreetMapService;
+import com.example.server.upstream.NominatimScheduler;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OpenStreetMapServiceImpl implements OpenStreetMapService {
     private static final int MAX_RESULTS = 5;
     private static final String CITY_NAME = "Львів";
     private static final String COUNTRY_NAME = "Україна";
-    private final PlaceRepository placeRepository;
+    private final PlaceSearchIndex placeSearchIndex;
     private final RestTemplate restTemplate;
+    private final GeocodingCache geocodingCache;
+    private final NominatimScheduler nominatimScheduler;
 
     @Value("${openstreetmap.api.url}")
     private String openStreetMapApiUrl;
 
-    public List<OpenStreetMapSearchResponse> searchPlaces(String query) {
-        List<OpenStreetMapSearchResponse> results = new ArrayList<>();
+    @Value("${openstreetmap.search.timeout}")
+    private Duration searchTimeout;
 
-        List<Place> localPlaces = placeRepository.findByNameContainingIgnoreCaseAndApprovedTrue(query);
-        if (!localPlaces.isEmpty()) {
-            results.addAll(localPlaces.stream()
-                    .map(place -> OpenStreetMapSearchResponse.builder()
-                            .name(place.getName())
-                            .lat(place.getLat())
-                            .lon(place.getLon())
-                            .placeId(place.getId())
-                            .build())
-                    .limit(MAX_RESULTS)
-                    .toList());
-        }
+    /**
+     * Answers from the in-memory place index first and asks Nominatim only for the remaining
+     * slots. If Nominatim has not answered within the search timeout, the local matches are
+     * returned alone; the upstream call keeps running in the background and its result lands
+     * in the cache for the next search. When the rate-limited queue is too long for an answer to
+     * arrive in time, the local matches are returned at once without waiting.
+     */
+    public List<OpenStreetMapSearchResponse> searchPlaces(String query) {
+        long deadline = System.nanoTime() + searchTimeout.toNanos();
+        List<OpenStreetMapSearchResponse> results = new ArrayList<>(
+                placeSearchIndex.search(query, MAX_RESULTS).stream()
+                        .map(point -> OpenStreetMapSearchResponse.builder()
+                                .name(point.getName())
+                                .lat(BigDecimal.valueOf(point.getLat()))
+                                .lon(BigDecimal.valueOf(point.getLon()))
+                                .placeId(point.getId())
+                                .build())
+                        .toList());
 
         if (results.size() >= MAX_RESULTS) {
             return results;
         }
 
+        results.addAll(awaitNominatim(startNominatimSearch(query), query, deadline).stream()
+                .limit(MAX_RESULTS - results.size())
+                .toList());
+        return results;
+    }
+
+    private CompletableFuture<List<OpenStreetMapSearchResponse>> startNominatimSearch(String query) {
+        List<OpenStreetMapSearchResponse> cached = geocodingCache.get(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return nominatimScheduler.submit(query, () -> searchNominatim(query));
+    }
+
+    private List<OpenStreetMapSearchResponse> awaitNominatim(CompletableFuture<List<OpenStreetMapSearchResponse>> upstream,
+                                                             String query, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (!upstream.isDone() && nominatimScheduler.expectedDelayNanos() > remaining) {
+            log.info("Nominatim search for '{}' is queued behind the rate limit, returning local results only", query);
+            return List.of();
+        }
+        try {
+            return upstream.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.info("Nominatim search for '{}' missed its deadline, returning local results only", query);
+        } catch (ExecutionException e) {
+            log.warn("Nominatim search for '{}' failed: {}", query, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
+    private List<OpenStreetMapSearchResponse> searchNominatim(String query) {
         String citySearchQuery = query + ", " + CITY_NAME + ", " + COUNTRY_NAME;
         String cityUrl = buildSearchUrl(citySearchQuery);
         OpenStreetMapResponse[] cityResponse = restTemplate.getForObject(cityUrl, OpenStreetMapResponse[].class);
-        
-        if (cityResponse != null && cityResponse.length > 0) {
-            results.addAll(Arrays.stream(cityResponse)
-                    .map(this::convertToSearchResponse)
-                    .limit(MAX_RESULTS - results.size())
-                    .toList());
-        }
+
+        List<OpenStreetMapSearchResponse> results = cityResponse == null
+                ? List.of()
+                : Arrays.stream(cityResponse)
+                        .map(this::convertToSearchResponse)
+                        .limit(MAX_RESULTS)
+                        .toList();
+        geocodingCache.put(query, results);
         return results;
     }
 
@@ -0,0 +1,151 @@
+package com.example.server.service.impl;
+
+import com.example.server.cache.PlaceDataVersion;
+import com.example.server.dto.place.PlaceChangeDto;
+import com.example.server.dto.place.PlaceChangesResponse;
+import com.example.server.entity.Place;
+import com.example.server.entity.PlaceChange;
+import com.example.server.event.PlaceChangeType;
+import com.example.server.mapper.PlaceMapper;
+import com.example.server.repository.AppCounterRepository;
+import com.example.server.repository.PlaceChangeRepository;
+import com.example.server.repository.PlaceRepository;
+import com.example.server.service.PlaceChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceChangeServiceImpl implements PlaceChangeService {
+
+    private static final String HORIZON = "places.changes.horizon";
+    private static final int MAX_LIMIT = 1000;
+
+    private final PlaceChangeRepository placeChangeRepository;
+    private final PlaceRepository placeRepository;
+    private final AppCounterRepository appCounterRepository;
+    private final PlaceDataVersion placeDataVersion;
+    private final PlaceMapper placeMapper;
+
+    @Value("${places.changes.tombstone-retention}")
+    private Duration tombstoneRetention;
+
+    // The version bump locks the counter row until commit, so writers insert their entries one
+    // after another and IDs follow commit order: a client never skips an entry that commits late.
+    @Override
+    @Transactional
+    public void record(Long placeId, PlaceChangeType type) {
+        placeDataVersion.bump();
+        placeChangeRepository.save(PlaceChange.builder()
+                .placeId(placeId)
+                .type(type)
+                .changedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void recordAll(List<Long> placeIds, PlaceChangeType type) {
+        if (placeIds.isEmpty()) {
+            return;
+        }
+        placeDataVersion.bump();
+        placeChangeRepository.insertAll(placeIds, type, System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional
+    public void recordPlacesReviewedBy(Long userId) {
+        placeDataVersion.bump();
+        placeChangeRepository.insertForPlacesReviewedBy(userId, System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PlaceChangesResponse getChangesSince(long since, int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Since must not be negative and limit must be between 1 and " + MAX_LIMIT);
+        }
+        long horizon = appCounterRepository.findValue(HORIZON).orElse(0L);
+        if (since > 0 && since < horizon) {
+            return PlaceChangesResponse.builder()
+                    .changes(List.of())
+                    .nextSince(0)
+                    .resyncRequired(true)
+                    .build();
+        }
+
+        List<PlaceChange> entries = placeChangeRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(limit + 1));
+        boolean hasMore = entries.size() > limit;
+        List<PlaceChange> page = hasMore ? entries.subList(0, limit) : entries;
+
+        // A place changed several times within the page is sent once, at its latest version
+        Map<Long, Long> latestVersions = new HashMap<>();
+        page.forEach(entry -> latestVersions.put(entry.getPlaceId(), entry.getId()));
+        Map<Long, Place> places = new HashMap<>();
+        placeRepository.findAllById(latestVersions.keySet()).forEach(place -> places.put(place.getId(), place));
+
+        List<PlaceChangeDto> changes = new ArrayList<>(latestVersions.size());
+        for (PlaceChange entry : page) {
+            if (!entry.getId().equals(latestVersions.get(entry.getPlaceId()))) {
+                continue;
+            }
+            Place place = places.get(entry.getPlaceId());
+            boolean visible = place != null && place.isApproved();
+            // Only a DELETED entry announces a deletion; a place that is gone but whose latest
+            // entry here is another kind was deleted after this page, and its tombstone follows.
+            if (!visible && entry.getType() != PlaceChangeType.DELETED) {
+                continue;
+            }
+            changes.add(PlaceChangeDto.builder()
+                    .version(entry.getId())
+                    .placeId(entry.getPlaceId())
+                    .deleted(!visible)
+                    .place(visible ? placeMapper.toPlaceResponse(place) : null)
+                    .build());
+        }
+
+        return PlaceChangesResponse.builder()
+                .changes(changes)
+                .nextSince(page.isEmpty() ? since : page.get(page.size() - 1).getId())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLatestVersion() {
+        return placeChangeRepository.findLatestId();
+    }
+
+    // Tombstones are kept for the retention period; clients that last synced before the newest
+    // dropped one are told to resync, since they could otherwise miss a deletion.
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${places.changes.compaction-interval}", initialDelayString = "${places.changes.compaction-interval}")
+    public void compact() {
+        int superseded = placeChangeRepository.deleteSuperseded();
+        long cutoff = System.currentTimeMillis() - tombstoneRetention.toMillis();
+        Long lastTombstone = placeChangeRepository.findLastTombstoneBefore(cutoff);
+        int tombstones = 0;
+        if (lastTombstone != null) {
+            appCounterRepository.raiseTo(HORIZON, lastTombstone);
+            tombstones = placeChangeRepository.deleteTombstonesUpTo(lastTombstone, cutoff);
+        }
+        if (superseded + tombstones > 0) {
+            log.info("Compacted place change log: {} superseded entries, {} expired tombstones", superseded, tombstones);
+        }
+    }
+}
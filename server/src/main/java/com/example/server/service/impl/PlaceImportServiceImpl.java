@@ -0,0 +1,293 @@
+package com.example.server.service.impl;
+
+import com.example.server.cache.ModerationBacklog;
+import com.example.server.cache.PlaceDataVersion;
+import com.example.server.dto.place.PlaceImportJobResponse;
+import com.example.server.dto.place.PlaceRequest;
+import com.example.server.entity.Place;
+import com.example.server.entity.PlaceImportError;
+import com.example.server.entity.PlaceImportJob;
+import com.example.server.entity.User;
+import com.example.server.enums.ImportFormat;
+import com.example.server.enums.ImportJobStatus;
+import com.example.server.exception.ImportJobNotFound;
+import com.example.server.importer.PlaceRow;
+import com.example.server.importer.PlaceRowReader;
+import com.example.server.mapper.PlaceMapper;
+import com.example.server.repository.PlaceImportErrorRepository;
+import com.example.server.repository.PlaceImportJobRepository;
+import com.example.server.repository.PlaceRepository;
+import com.example.server.repository.UserRepository;
+import com.example.server.service.PlaceImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports places in bulk on a background thread, one job at a time.
+ * <p>
+ * The upload is stored in the import directory first, so the request returns at once and a job
+ * can be read again after a failure or restart. Rows are validated like {@code POST /places} and
+ * inserted in JDBC batches; each batch commits together with its change log entries, its rejected
+ * rows and the job's progress, so a resumed job skips exactly the rows already handled. Jobs
+ * cut short by a shutdown are picked up again by the instance holding their file when it starts.
+ */
+@Slf4j
+@Service
+public class PlaceImportServiceImpl implements PlaceImportService {
+
+    private static final int MAX_STORED_ERRORS = 1000;
+    private static final int MAX_LISTED_ERRORS = 100;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final PlaceImportJobRepository placeImportJobRepository;
+    private final PlaceImportErrorRepository placeImportErrorRepository;
+    private final PlaceRepository placeRepository;
+    private final UserRepository userRepository;
+    private final ModerationBacklog moderationBacklog;
+    private final PlaceDataVersion placeDataVersion;
+    private final PlaceMapper placeMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path importDir;
+    private final int batchSize;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "place-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean stopping;
+
+    public PlaceImportServiceImpl(PlaceImportJobRepository placeImportJobRepository,
+                                  PlaceImportErrorRepository placeImportErrorRepository,
+                                  PlaceRepository placeRepository,
+                                  UserRepository userRepository,
+                                  ModerationBacklog moderationBacklog,
+                                  PlaceDataVersion placeDataVersion,
+                                  PlaceMapper placeMapper,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${places.import.dir}") Path importDir,
+                                  @Value("${places.import.batch-size}") int batchSize) {
+        this.placeImportJobRepository = placeImportJobRepository;
+        this.placeImportErrorRepository = placeImportErrorRepository;
+        this.placeRepository = placeRepository;
+        this.userRepository = userRepository;
+        this.moderationBacklog = moderationBacklog;
+        this.placeDataVersion = placeDataVersion;
+        this.placeMapper = placeMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importDir = importDir;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (PlaceImportJob job : placeImportJobRepository.findByStatusInOrderByIdAsc(
+                EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            if (job.getFilePath() != null && Files.exists(Path.of(job.getFilePath()))) {
+                log.info("Resuming place import {} after row {}", job.getId(), job.getProcessedRows());
+                worker.execute(() -> run(job.getId()));
+            }
+        }
+    }
+
+    // The running batch is given a moment to commit; anything after it is resumed on the next start
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        worker.shutdown();
+        if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+            worker.shutdownNow();
+        }
+    }
+
+    @Override
+    public PlaceImportJobResponse startImport(ImportFormat format, InputStream content) throws IOException {
+        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        User currentUser = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new IllegalStateException("Current user not found"));
+
+        Files.createDirectories(importDir);
+        Path file = Files.createTempFile(importDir, "places-", "." + format.getExtension());
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        PlaceImportJob job = placeImportJobRepository.save(PlaceImportJob.builder()
+                .status(ImportJobStatus.QUEUED)
+                .format(format)
+                .filePath(file.toAbsolutePath().toString())
+                .createdByUserId(currentUser.getId())
+                .build());
+        worker.execute(() -> run(job.getId()));
+        return placeMapper.toPlaceImportJobResponse(job, List.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PlaceImportJobResponse getImportJob(Long id) {
+        PlaceImportJob job = placeImportJobRepository.findById(id)
+                .orElseThrow(() -> new ImportJobNotFound("Import job not found", HttpStatus.NOT_FOUND));
+        return placeMapper.toPlaceImportJobResponse(job,
+                placeImportErrorRepository.findByJobIdOrderByRowNumberAsc(id, Limit.of(MAX_LISTED_ERRORS)));
+    }
+
+    @Override
+    public PlaceImportJobResponse resumeImport(Long id) {
+        PlaceImportJob job = placeImportJobRepository.findById(id)
+                .orElseThrow(() -> new ImportJobNotFound("Import job not found", HttpStatus.NOT_FOUND));
+        if (job.getFilePath() == null || !Files.exists(Path.of(job.getFilePath()))) {
+            throw new IllegalStateException("The file of this import is not available on this instance");
+        }
+        Integer requeued = transactionTemplate.execute(status ->
+                placeImportJobRepository.requeueFailed(id, System.currentTimeMillis()));
+        if (requeued == null || requeued == 0) {
+            throw new IllegalStateException("Only failed imports can be resumed");
+        }
+        worker.execute(() -> run(id));
+        return getImportJob(id);
+    }
+
+    private void run(Long jobId) {
+        PlaceImportJob job = placeImportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        updateStatus(jobId, ImportJobStatus.RUNNING, null, null);
+        User creator = userRepository.getReferenceById(job.getCreatedByUserId());
+        long storedErrors = placeImportErrorRepository.countByJobId(jobId);
+        long skip = job.getProcessedRows();
+        long read = 0;
+
+        try (PlaceRowReader reader = PlaceRowReader.open(job.getFormat(), Path.of(job.getFilePath()), objectMapper)) {
+            List<PlaceRow> batch = new ArrayList<>(batchSize);
+            PlaceRow row;
+            while ((row = reader.next()) != null) {
+                if (++read <= skip) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    storedErrors += writeBatch(jobId, creator, batch, storedErrors);
+                    batch.clear();
+                    if (stopping) {
+                        log.info("Place import {} stopped after row {}, it resumes on the next start", jobId, read);
+                        return;
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(jobId, creator, batch, storedErrors);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (stopping) {
+                log.info("Place import {} interrupted by shutdown, it resumes on the next start", jobId);
+                return;
+            }
+            log.error("Place import {} failed", jobId, e);
+            updateStatus(jobId, ImportJobStatus.FAILED, truncate(e.getMessage()), System.currentTimeMillis());
+            return;
+        }
+
+        updateStatus(jobId, ImportJobStatus.COMPLETED, null, System.currentTimeMillis());
+        try {
+            Files.deleteIfExists(Path.of(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", job.getFilePath(), e);
+        }
+        log.info("Place import {} completed after {} rows", jobId, read);
+    }
+
+    // Imported places are unapproved, so neither the in-memory indexes nor the change log see
+    // them until they are approved
+    private int writeBatch(Long jobId, User creator, List<PlaceRow> rows, long storedErrors) {
+        List<Place> places = new ArrayList<>(rows.size());
+        List<PlaceImportError> errors = new ArrayList<>();
+        for (PlaceRow row : rows) {
+            String error = row.getError() != null ? row.getError() : validate(row.getRequest());
+            if (error != null) {
+                errors.add(PlaceImportError.builder()
+                        .jobId(jobId)
+                        .rowNumber(row.getNumber())
+                        .message(truncate(error))
+                        .build());
+                continue;
+            }
+            Place place = placeMapper.toPlace(row.getRequest(), creator);
+            place.updateScore();
+            place.setCreatedAt(place.getUpdatedAt());
+            places.add(place);
+        }
+        List<PlaceImportError> stored = errors.subList(0, (int) Math.min(errors.size(), Math.max(0, MAX_STORED_ERRORS - storedErrors)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            placeRepository.insertAll(places);
+            placeImportErrorRepository.saveAll(stored);
+            placeImportJobRepository.addProgress(jobId, rows.size(), places.size(), errors.size(), System.currentTimeMillis());
+            moderationBacklog.add(places.size());
+            if (!places.isEmpty()) {
+                placeDataVersion.bump();
+            }
+        });
+        return stored.size();
+    }
+
+    private String validate(PlaceRequest request) {
+        Set<ConstraintViolation<PlaceRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void updateStatus(Long jobId, ImportJobStatus status, String message, Long finishedAt) {
+        transactionTemplate.executeWithoutResult(tx -> placeImportJobRepository.updateStatus(
+                jobId, status, message, System.currentTimeMillis(), finishedAt));
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
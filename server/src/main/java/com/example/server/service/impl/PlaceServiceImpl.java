@@ -1,46 +1,245 @@
 package com.example.server.service.impl;
 
+import com.example.server.cache.ModerationBacklog;
+import com.example.server.cache.PlaceDataVersion;
+import com.example.server.dto.common.CursorPageResponse;
 import com.example.server.dto.common.PageResponse;
+import com.example.server.dto.place.PlaceBoundsDto;
+import com.example.server.dto.place.PlaceClusterResponse;
+import com.example.server.dto.place.PlaceDistanceDto;
+import com.example.server.dto.place.PlaceFacetsResponse;
 import com.example.server.dto.place.PlaceFilterDto;
+import com.example.server.dto.place.PlaceModerationItemDto;
+import com.example.server.dto.place.PlaceModerationQueueResponse;
+import com.example.server.dto.place.PlaceModerationRequest;
+import com.example.server.dto.place.PlaceModerationResponse;
 import com.example.server.dto.place.PlaceRequest;
 import com.example.server.dto.place.PlaceResponse;
 import com.example.server.dto.place.PlaceUpdateRequest;
 import com.example.server.entity.Place;
+import com.example.server.entity.PlaceCategory;
 import com.example.server.entity.User;
+import com.example.server.enums.AccessibilityFeature;
+import com.example.server.event.PlaceChangeType;
+import com.example.server.event.PlaceChangedEvent;
+import com.example.server.event.PlacesChangedEvent;
 import com.example.server.exception.PlaceNotFound;
+import com.example.server.index.BoundingBox;
+import com.example.server.index.PlaceClusterIndex;
+import com.example.server.index.PlaceFacetCounts;
+import com.example.server.index.PlaceFacetIndex;
+import com.example.server.index.PlacePoint;
+import com.example.server.index.PlaceSnapshot;
+import com.example.server.index.PlaceSnapshotCache;
+import com.example.server.index.PlaceSpatialIndex;
+import com.example.server.index.PlaceTileCache;
 import com.example.server.mapper.PlaceMapper;
 import com.example.server.repository.PlaceRepository;
 import com.example.server.repository.UserRepository;
+import com.example.server.service.PlaceChangeService;
 import com.example.server.service.PlaceService;
 import com.example.server.util.SpecificationHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PlaceServiceImpl implements PlaceService {
 
+    private static final int MODERATION_CHUNK_SIZE = 1000;
+    private static final int MAX_MODERATION_PAGE_SIZE = 200;
+    private static final int MAX_NEAREST = 100;
+
     private final PlaceRepository placeRepository;
     private final UserRepository userRepository;
     private final PlaceMapper placeMapper;
+    private final PlaceClusterIndex placeClusterIndex;
+    private final PlaceTileCache placeTileCache;
+    private final PlaceSpatialIndex placeSpatialIndex;
+    private final PlaceFacetIndex placeFacetIndex;
+    private final PlaceSnapshotCache placeSnapshotCache;
+    private final PlaceChangeService placeChangeService;
+    private final PlaceDataVersion placeDataVersion;
+    private final ModerationBacklog moderationBacklog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PlaceResponse> getAllPlaces(PlaceFilterDto filter) {
+        int size = filter.getSize() != null ? filter.getSize() : 100;
+        Specification<Place> spec = SpecificationHelper.buildSpecification(filter)
+                .and(SpecificationHelper.idGreaterThan(parseCursor(filter.getCursor())));
+
+        List<Place> places = placeRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = places.size() > size;
+        List<Place> page = hasNext ? places.subList(0, size) : places;
+        String nextCursor = hasNext ? String.valueOf(page.get(size - 1).getId()) : null;
+
+        return new CursorPageResponse<>(
+                page.stream()
+                        .map(placeMapper::toPlaceResponse)
+                        .toList(),
+                page.size(),
+                nextCursor
+        );
+    }
 
+    // Each place is mapped and written as soon as it is read, so memory use does not grow with the result
     @Override
     @Transactional(readOnly = true)
-    public List<PlaceResponse> getAllPlaces(PlaceFilterDto filter) {
-        return placeRepository.findAll().stream()
+    public void writeAllPlaces(PlaceFilterDto filter, OutputStream out) throws IOException {
+        Specification<Place> spec = SpecificationHelper.buildSpecification(filter)
+                .and(SpecificationHelper.idGreaterThan(parseCursor(filter.getCursor())));
+
+        try (Stream<Place> places = placeRepository.streamAll(spec);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<Place> iterator = places.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(placeMapper.toPlaceResponse(iterator.next()));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlaceResponse> getPlacesInBounds(PlaceBoundsDto bounds) {
+        if (bounds.getMinLat().compareTo(bounds.getMaxLat()) > 0
+                || bounds.getMinLon().compareTo(bounds.getMaxLon()) > 0) {
+            throw new IllegalArgumentException("Minimum bounds must not exceed maximum bounds");
+        }
+
+        // Served from idx_places_approved_lat_lon rather than the local R-tree, so every instance
+        // answers from the same committed rows
+        return placeRepository.findApprovedInBounds(
+                        bounds.getMinLat(), bounds.getMinLon(),
+                        bounds.getMaxLat(), bounds.getMaxLon(),
+                        PageRequest.of(0, bounds.getLimit() != null ? bounds.getLimit() : 500))
+                .stream()
                 .map(placeMapper::toPlaceResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PlaceClusterResponse getPlaceClusters(String bbox, int zoom) {
+        if (zoom < 0 || zoom > 22) {
+            throw new IllegalArgumentException("Zoom must be between 0 and 22");
+        }
+        return placeClusterIndex.cluster(BoundingBox.parse(bbox), zoom);
+    }
+
+    @Override
+    public byte[] getPlaceTile(int zoom, long x, long y) {
+        return placeTileCache.getTile(zoom, x, y);
+    }
+
+    @Override
+    public List<PlaceDistanceDto> getPlacesNearby(double lat, double lon, double radiusMeters, int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Coordinates are out of range");
+        }
+        if (radiusMeters <= 0 || radiusMeters > 50_000 || limit < 1 || limit > 500) {
+            throw new IllegalArgumentException("Radius must be within 50 km and limit between 1 and 500");
+        }
+        return placeSpatialIndex.findWithinRadius(lat, lon, radiusMeters, limit).stream()
+                .map(placeMapper::toPlaceDistanceDto)
+                .toList();
+    }
+
+    @Override
+    public List<PlaceDistanceDto> getNearestPlaces(double lat, double lon, int k, String features, String categories) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Coordinates are out of range");
+        }
+        if (k < 1 || k > MAX_NEAREST) {
+            throw new IllegalArgumentException("K must be between 1 and " + MAX_NEAREST);
+        }
+        int requiredFeatures = 0;
+        if (StringUtils.hasText(features)) {
+            for (String feature : features.split(",")) {
+                requiredFeatures |= AccessibilityFeature.valueOf(feature.trim()).mask();
+            }
+        }
+        return placeSpatialIndex.findNearest(lat, lon, k, requiredFeatures, categoryMask(categories)).stream()
+                .map(placeMapper::toPlaceDistanceDto)
+                .toList();
+    }
+
+    @Override
+    public PlaceFacetsResponse getPlaceFacets(String features, String categories) {
+        int[] featureGroups = new int[0];
+        if (StringUtils.hasText(features)) {
+            featureGroups = Arrays.stream(features.split(","))
+                    .mapToInt(group -> Arrays.stream(group.split("\\|"))
+                            .mapToInt(feature -> AccessibilityFeature.valueOf(feature.trim()).mask())
+                            .reduce(0, (a, b) -> a | b))
+                    .toArray();
+        }
+        PlaceFacetCounts counts = placeFacetIndex.count(featureGroups, categoryMask(categories));
+
+        Map<PlaceCategory, Integer> categoryCounts = new EnumMap<>(PlaceCategory.class);
+        for (PlaceCategory category : PlaceCategory.values()) {
+            categoryCounts.put(category, counts.getCategories()[category.ordinal()]);
+        }
+        Map<AccessibilityFeature, Integer> featureCounts = new EnumMap<>(AccessibilityFeature.class);
+        for (AccessibilityFeature feature : AccessibilityFeature.values()) {
+            featureCounts.put(feature, counts.getFeatures()[feature.ordinal()]);
+        }
+        return PlaceFacetsResponse.builder()
+                .total(counts.getTotal())
+                .categories(categoryCounts)
+                .features(featureCounts)
+                .build();
+    }
+
+    private static int categoryMask(String categories) {
+        if (!StringUtils.hasText(categories)) {
+            return 0;
+        }
+        return PlaceSpatialIndex.categoryMask(Arrays.stream(categories.split(","))
+                .map(String::trim)
+                .map(PlaceCategory::valueOf)
+                .toList());
+    }
+
+    @Override
+    public PlaceSnapshot getPlaceSnapshot() {
+        return placeSnapshotCache.getSnapshot();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PlaceResponse getPlaceById(Long id) {
@@ -58,6 +257,11 @@ public class PlaceServiceImpl implements PlaceService {
 
         Place place = placeMapper.toPlace(request, currentUser);
         Place savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangeType.CREATED, savedPlace));
+        // New places are pending, so they enter the change log only once approved; /places/{id}
+        // already serves them, so the version still moves on
+        moderationBacklog.add(1);
+        placeDataVersion.bump();
         return placeMapper.toPlaceResponse(savedPlace);
     }
 
@@ -70,16 +274,28 @@ public class PlaceServiceImpl implements PlaceService {
         placeMapper.updatePlaceFromUpdateRequest(place, request);
         Place updatedPlace = placeRepository.save(place);
         updatedPlace.updateScore();
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangeType.UPDATED, updatedPlace));
+        if (updatedPlace.isApproved()) {
+            placeChangeService.record(id, PlaceChangeType.UPDATED);
+        } else {
+            placeDataVersion.bump();
+        }
         return placeMapper.toPlaceResponse(updatedPlace);
     }
 
     @Override
     @Transactional
     public void deletePlace(Long id) {
-        if (!placeRepository.existsById(id)) {
-            throw new PlaceNotFound("Place not found with id: " + id, HttpStatus.NOT_FOUND);
+        Place place = placeRepository.findById(id)
+                .orElseThrow(() -> new PlaceNotFound("Place not found with id: " + id, HttpStatus.NOT_FOUND));
+        placeRepository.delete(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.deleted(id));
+        if (place.isApproved()) {
+            placeChangeService.record(id, PlaceChangeType.DELETED);
+        } else {
+            moderationBacklog.add(-1);
+            placeDataVersion.bump();
         }
-        placeRepository.deleteById(id);
     }
 
     @Override
@@ -96,14 +312,151 @@ public class PlaceServiceImpl implements PlaceService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PlaceModerationQueueResponse getModerationQueue(String cursor, int size) {
+        if (size < 1 || size > MAX_MODERATION_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_MODERATION_PAGE_SIZE);
+        }
+        List<PlaceModerationItemDto> places;
+        if (cursor == null || cursor.isBlank()) {
+            places = placeRepository.findModerationQueue(Limit.of(size + 1));
+        } else {
+            String[] parts = cursor.split("_");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                places = placeRepository.findModerationQueueAfter(
+                        Long.parseLong(parts[0]), Long.parseLong(parts[1]), Limit.of(size + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        boolean hasNext = places.size() > size;
+        List<PlaceModerationItemDto> page = hasNext ? places.subList(0, size) : places;
+        PlaceModerationItemDto last = hasNext ? page.get(size - 1) : null;
+        return PlaceModerationQueueResponse.builder()
+                .content(page)
+                .size(page.size())
+                .nextCursor(last == null ? null : last.getCreatedAt() + "_" + last.getId())
+                .backlog(moderationBacklog.current())
+                .build();
+    }
+
     @Override
     @Transactional
     public PlaceResponse approvePlace(Long id) {
         Place place = placeRepository.findById(id)
                 .orElseThrow(() -> new PlaceNotFound("Place not found with id: " + id, HttpStatus.NOT_FOUND));
-        
+        boolean wasPending = !place.isApproved();
+
         place.setApproved(true);
         Place approvedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangeType.APPROVED, approvedPlace));
+        if (wasPending) {
+            moderationBacklog.add(-1);
+        }
+        placeChangeService.record(id, PlaceChangeType.APPROVED);
         return placeMapper.toPlaceResponse(approvedPlace);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public PlaceModerationResponse approvePlaces(PlaceModerationRequest request) {
+        return moderate(request, this::approveChunk);
+    }
+
+    @Override
+    public PlaceModerationResponse rejectPlaces(PlaceModerationRequest request) {
+        return moderate(request, this::rejectChunk);
+    }
+
+    // Filtered runs walk the pending places by ID; processed places leave the filter, so each
+    // chunk starts after the last one without skipping anything.
+    private PlaceModerationResponse moderate(PlaceModerationRequest request, Function<List<Long>, Integer> action) {
+        int processed = 0;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = request.getIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .toList();
+            for (int from = 0; from < ids.size(); from += MODERATION_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + MODERATION_CHUNK_SIZE, ids.size()));
+                processed += transactionTemplate.execute(status -> action.apply(chunk));
+            }
+            return PlaceModerationResponse.builder().processed(processed).build();
+        }
+
+        if (!StringUtils.hasText(request.getCategory()) && request.getCreatedBy() == null
+                && request.getCreatedFrom() == null && request.getCreatedTo() == null) {
+            throw new IllegalArgumentException("Select places by IDs or by at least one filter field");
+        }
+        Specification<Place> pending = SpecificationHelper.pendingModeration(request);
+        Long after = null;
+        while (true) {
+            Specification<Place> spec = pending.and(SpecificationHelper.idGreaterThan(after));
+            List<Long> chunk = placeRepository.findBy(spec, query -> query
+                            .sortBy(Sort.by("id"))
+                            .limit(MODERATION_CHUNK_SIZE)
+                            .all())
+                    .stream()
+                    .map(Place::getId)
+                    .toList();
+            if (chunk.isEmpty()) {
+                break;
+            }
+            processed += transactionTemplate.execute(status -> action.apply(chunk));
+            if (chunk.size() < MODERATION_CHUNK_SIZE) {
+                break;
+            }
+            after = chunk.get(chunk.size() - 1);
+        }
+        return PlaceModerationResponse.builder().processed(processed).build();
+    }
+
+    // The pending rows are locked first, so only places this chunk really approves are reported
+    private int approveChunk(List<Long> ids) {
+        List<Place> places = placeRepository.findPendingForUpdate(ids);
+        if (places.isEmpty()) {
+            return 0;
+        }
+        List<Long> placeIds = places.stream().map(Place::getId).toList();
+        placeRepository.approveAll(placeIds);
+        eventPublisher.publishEvent(new PlacesChangedEvent(places.stream()
+                .map(place -> new PlaceChangedEvent(PlaceChangeType.APPROVED, place.getId(), PlacePoint.from(place)))
+                .toList()));
+        moderationBacklog.add(-placeIds.size());
+        placeChangeService.recordAll(placeIds, PlaceChangeType.APPROVED);
+        return placeIds.size();
+    }
+
+    private int rejectChunk(List<Long> ids) {
+        List<Long> placeIds = placeRepository.findPendingForUpdate(ids).stream()
+                .map(Place::getId)
+                .toList();
+        if (placeIds.isEmpty()) {
+            return 0;
+        }
+        placeRepository.deletePendingAll(placeIds);
+        eventPublisher.publishEvent(new PlacesChangedEvent(placeIds.stream()
+                .map(PlaceChangedEvent::deleted)
+                .toList()));
+        // Rejected places were never listed, so clients get no tombstones for them
+        moderationBacklog.add(-placeIds.size());
+        placeDataVersion.bump();
+        return placeIds.size();
+    }
+
+    private Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
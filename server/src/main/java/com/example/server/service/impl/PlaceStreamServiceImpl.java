@@ -0,0 +1,464 @@
+package com.example.server.service.impl;
+
+import com.example.server.dto.place.PlaceChangeDto;
+import com.example.server.dto.place.PlaceChangesResponse;
+import com.example.server.dto.place.PlaceResponse;
+import com.example.server.entity.PlaceCategory;
+import com.example.server.event.PlaceChangedEvent;
+import com.example.server.event.PlacesChangedEvent;
+import com.example.server.index.BoundingBox;
+import com.example.server.service.PlaceChangeService;
+import com.example.server.service.PlaceStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes place changes to Server-Sent Events subscribers.
+ * <p>
+ * A single dispatcher thread follows the place change log, so changes made on any instance are
+ * delivered, with the change version as event ID. Each event is encoded once and offered to the
+ * bounded queue of every matching subscriber; a small sender pool drains the queues, so idle
+ * connections hold no thread at all.
+ * <p>
+ * Streams use non-blocking servlet output: a sender writes only while the connection can take
+ * more and otherwise leaves the rest to the container's write callback, so a client that stops
+ * reading never holds a thread. A subscriber whose queue fills up, or whose connection has not
+ * accepted data for the write timeout, is disconnected by completing its async request, which
+ * does not wait for pending writes. It can reconnect with {@code Last-Event-ID} and catch up from
+ * the log.
+ */
+@Slf4j
+@Service
+public class PlaceStreamServiceImpl implements PlaceStreamService {
+
+    private static final int LOG_BATCH_SIZE = 500;
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final PlaceChangeService placeChangeService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final long writeTimeoutNanos;
+    private final Counter evictions;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> joining = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicBoolean pollPending = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "place-stream-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    // Only touched on the dispatcher thread
+    private long lastVersion;
+
+    public PlaceStreamServiceImpl(PlaceChangeService placeChangeService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${places.stream.timeout}") Duration timeout,
+                                  @Value("${places.stream.buffer-size}") int bufferSize,
+                                  @Value("${places.stream.max-subscribers}") int maxSubscribers,
+                                  @Value("${places.stream.sender-threads}") int senderThreads,
+                                  @Value("${places.stream.poll-interval}") Duration pollInterval,
+                                  @Value("${places.stream.heartbeat-interval}") Duration heartbeatInterval,
+                                  @Value("${places.stream.write-timeout}") Duration writeTimeout) {
+        this.placeChangeService = placeChangeService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "place-stream-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictions = Counter.builder("places.stream.evictions")
+                .description("Subscribers disconnected because they could not keep up or stopped reading")
+                .register(meterRegistry);
+        Gauge.builder("places.stream.subscribers", connected, AtomicInteger::get)
+                .description("Open place change streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        lastVersion = placeChangeService.getLatestVersion();
+        dispatcher.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleAtFixedRate(this::sendHeartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(100, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos) / 2);
+        dispatcher.scheduleAtFixedRate(this::evictStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    @Override
+    public void subscribe(String bbox, String categories, Long since,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("Since must not be negative");
+        }
+        Subscriber subscriber = new Subscriber(
+                StringUtils.hasText(bbox) ? BoundingBox.parse(bbox) : null, parseCategories(categories), since);
+        if (connected.incrementAndGet() > maxSubscribers) {
+            connected.decrementAndGet();
+            throw new IllegalStateException("Too many open place streams, try again later");
+        }
+        try {
+            subscriber.open(request, response);
+        } catch (IOException | RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        joining.add(subscriber);
+        wakeUp();
+    }
+
+    // Local writes are picked up at once instead of on the next poll
+    @TransactionalEventListener
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (pollPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::poll);
+        }
+    }
+
+    // New subscribers join only after the log has been read up to lastVersion, and their replay
+    // stops there, so nothing is missed or sent twice between replay and live events.
+    private void poll() {
+        pollPending.set(false);
+        try {
+            PlaceChangesResponse page;
+            do {
+                page = placeChangeService.getChangesSince(lastVersion, LOG_BATCH_SIZE);
+                if (page.isResyncRequired()) {
+                    lastVersion = placeChangeService.getLatestVersion();
+                    break;
+                }
+                for (PlaceChangeDto change : page.getChanges()) {
+                    byte[] event = toEvent(change);
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.matches(change) && !subscriber.offer(event)) {
+                            evict(subscriber);
+                        }
+                    }
+                }
+                lastVersion = page.getNextSince();
+            } while (page.isHasMore());
+
+            Subscriber subscriber;
+            while ((subscriber = joining.poll()) != null) {
+                admit(subscriber);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to dispatch place changes: {}", e.getMessage(), e);
+        }
+    }
+
+    private void admit(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        List<byte[]> replay = replay(subscriber);
+        if (replay == null) {
+            // Too far behind to replay through the buffer: the client catches up via /places/changes
+            subscriber.offer(encode(null, "resync", String.valueOf(subscriber.since)));
+        } else {
+            replay.forEach(subscriber::offer);
+        }
+        subscriber.offer(encode(String.valueOf(lastVersion), "ready", String.valueOf(lastVersion)));
+        subscribers.add(subscriber);
+        if (subscriber.closed.get()) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private List<byte[]> replay(Subscriber subscriber) {
+        List<byte[]> events = new ArrayList<>();
+        long since = subscriber.since == null ? lastVersion : subscriber.since;
+        while (since < lastVersion) {
+            PlaceChangesResponse page = placeChangeService.getChangesSince(since, LOG_BATCH_SIZE);
+            if (page.isResyncRequired()) {
+                return null;
+            }
+            for (PlaceChangeDto change : page.getChanges()) {
+                if (change.getVersion() > lastVersion) {
+                    return events;
+                }
+                if (subscriber.matches(change)) {
+                    events.add(toEvent(change));
+                }
+            }
+            // Two slots stay free for the ready event and the first live change
+            if (events.size() > bufferSize - 2) {
+                return null;
+            }
+            if (!page.isHasMore()) {
+                break;
+            }
+            since = page.getNextSince();
+        }
+        return events;
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(HEARTBEAT)) {
+                evict(subscriber);
+            }
+        }
+    }
+
+    private void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long stalledSince = subscriber.stalledSince;
+            if (stalledSince != 0 && now - stalledSince > writeTimeoutNanos) {
+                evict(subscriber);
+            }
+        }
+    }
+
+    private byte[] toEvent(PlaceChangeDto change) {
+        try {
+            return encode(String.valueOf(change.getVersion()), "place", objectMapper.writeValueAsString(change));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize place change " + change.getVersion(), e);
+        }
+    }
+
+    // Same wire format as SseEmitter; the data here is single-line JSON or a number
+    private static byte[] encode(String id, String name, String data) {
+        StringBuilder event = new StringBuilder();
+        if (id != null) {
+            event.append("id:").append(id).append('\n');
+        }
+        event.append("event:").append(name).append('\n');
+        for (String line : data.split("\n", -1)) {
+            event.append("data:").append(line).append('\n');
+        }
+        return event.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Never touches the connection's output, so it cannot wait behind a stalled write
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictions.increment();
+            subscriber.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            joining.remove(subscriber);
+            connected.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static Set<PlaceCategory> parseCategories(String categories) {
+        if (!StringUtils.hasText(categories)) {
+            return null;
+        }
+        Set<PlaceCategory> result = EnumSet.noneOf(PlaceCategory.class);
+        Arrays.stream(categories.split(","))
+                .map(String::trim)
+                .map(PlaceCategory::valueOf)
+                .forEach(result::add);
+        return result;
+    }
+
+    private final class Subscriber implements WriteListener, AsyncListener {
+        private final BoundingBox bbox;
+        private final Set<PlaceCategory> categories;
+        private final Long since;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private AsyncContext context;
+        private ServletOutputStream out;
+        // When the connection last refused more data, 0 while it accepts writes
+        private volatile long stalledSince;
+
+        Subscriber(BoundingBox bbox, Set<PlaceCategory> categories, Long since) {
+            this.bbox = bbox;
+            this.categories = categories;
+            this.since = since;
+        }
+
+        void open(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Cache-Control", "no-cache");
+            context = request.startAsync(request, response);
+            context.setTimeout(timeoutMillis);
+            context.addListener(this);
+            out = response.getOutputStream();
+            out.setWriteListener(this);
+        }
+
+        // Tombstones carry no position, so every subscriber gets them
+        boolean matches(PlaceChangeDto change) {
+            PlaceResponse place = change.getPlace();
+            if (change.isDeleted() || place == null) {
+                return true;
+            }
+            return (categories == null || categories.contains(place.getCategory()))
+                    && (bbox == null || bbox.contains(place.getLat().doubleValue(), place.getLon().doubleValue()));
+        }
+
+        boolean offer(byte[] event) {
+            if (closed.get() || !queue.offer(event)) {
+                return false;
+            }
+            if (drainRequests.getAndIncrement() == 0) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        @Override
+        public void onWritePossible() {
+            if (drainRequests.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        // Requests arriving while a drain runs make it go round again, so a write callback that
+        // fires just as a sender gives up on a full connection is never lost
+        private void drain() {
+            int requests = 1;
+            do {
+                try {
+                    write();
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                }
+                requests = drainRequests.addAndGet(-requests);
+            } while (requests != 0);
+        }
+
+        // Writes only while the container says it will not block; when it says no, it calls
+        // onWritePossible once the client has read enough
+        private void write() throws IOException {
+            boolean flushed = true;
+            while (!closed.get() && out.isReady()) {
+                byte[] event = queue.poll();
+                if (event == null) {
+                    if (flushed) {
+                        stalledSince = 0;
+                        return;
+                    }
+                    out.flush();
+                    flushed = true;
+                    continue;
+                }
+                out.write(event);
+                flushed = false;
+            }
+            if (!closed.get() && stalledSince == 0) {
+                stalledSince = System.nanoTime();
+            }
+        }
+
+        void close() {
+            if (remove(this)) {
+                complete();
+            }
+        }
+
+        void complete() {
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container after a timeout or error
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.server.service.impl;
+
+import com.example.server.entity.RefreshToken;
+import com.example.server.entity.User;
+import com.example.server.exception.AuthenticationException;
+import com.example.server.repository.RefreshTokenRepository;
+import com.example.server.service.JwtService;
+import com.example.server.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+
+    @Value("${jwt.refresh-token.expiration}")
+    private long refreshTokenExpiration;
+
+    @Override
+    @Transactional
+    public String issue(User user, String familyId) {
+        String token = jwtService.generateRefreshToken(user);
+        long now = System.currentTimeMillis();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .user(user)
+                .familyId(familyId != null ? familyId : UUID.randomUUID().toString())
+                .createdAt(now)
+                .expiresAt(now + refreshTokenExpiration)
+                .build());
+        return token;
+    }
+
+    // The revocation on reuse must survive the exception that reports it
+    @Override
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public RefreshToken use(String token) {
+        if (jwtService.verifyToken(token).isEmpty()) {
+            throw new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED);
+        }
+        String tokenHash = hash(token);
+        boolean consumed = refreshTokenRepository.markUsed(tokenHash, System.currentTimeMillis()) == 1;
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED));
+
+        if (!consumed) {
+            if (refreshToken.getUsedAt() != null) {
+                log.warn("Refresh token reuse detected for user {}, revoking its session", refreshToken.getUser().getId());
+                refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            }
+            throw new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED);
+        }
+        return refreshToken;
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new AuthenticationException(INVALID_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED));
+        refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+    }
+
+    // Each batch commits on its own, so the sweep never holds locks on many rows at once
+    @Override
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.sweep-interval}", initialDelayString = "${jwt.refresh-token.sweep-interval}")
+    public void deleteExpired() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(now, DELETE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == DELETE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Deleted {} expired refresh tokens", total);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
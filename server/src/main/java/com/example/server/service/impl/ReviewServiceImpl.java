@@ -1,11 +1,18 @@
 package com.example.server.service.impl;
 
+import com.example.server.cache.PlaceDataVersion;
+import com.example.server.dto.common.CursorPageResponse;
+import com.example.server.dto.review.ReviewFilterDto;
 import com.example.server.dto.review.ReviewRequest;
 import com.example.server.dto.review.ReviewResponse;
+import com.example.server.dto.review.ReviewRoleRow;
+import com.example.server.dto.review.ReviewRow;
 import com.example.server.dto.review.ReviewUpdateRequest;
 import com.example.server.entity.Place;
 import com.example.server.entity.Review;
 import com.example.server.entity.User;
+import com.example.server.enums.ReviewSort;
+import com.example.server.event.PlaceChangeType;
 import com.example.server.exception.AccessDeniedException;
 import com.example.server.exception.PlaceNotFound;
 import com.example.server.exception.ReviewNotFound;
@@ -13,49 +20,107 @@ import com.example.server.mapper.ReviewMapper;
 import com.example.server.repository.PlaceRepository;
 import com.example.server.repository.ReviewRepository;
 import com.example.server.repository.UserRepository;
+import com.example.server.repository.UserRoleValue;
+import com.example.server.service.PlaceChangeService;
 import com.example.server.service.ReviewService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final int FOLD_BATCH_SIZE = 1000;
+
     private final ReviewRepository reviewRepository;
     private final PlaceRepository placeRepository;
     private final UserRepository userRepository;
     private final ReviewMapper reviewMapper;
+    private final PlaceChangeService placeChangeService;
+    private final PlaceDataVersion placeDataVersion;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional(readOnly = true)
     public List<ReviewResponse> getAllReviews() {
-        return reviewRepository.findAll().stream()
-                .map(reviewMapper::toReviewResponse)
-                .collect(Collectors.toList());
+        return toReviewResponses(reviewRepository.findRows(null, null, ReviewSort.CREATED_AT, null, null, null));
+    }
+
+    // A review arrives once per author role, in consecutive rows, and is written once the next one starts
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllReviews(OutputStream out) throws IOException {
+        try (Stream<ReviewRoleRow> rows = reviewRepository.streamRows(null, null, ReviewSort.CREATED_AT);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<ReviewRoleRow> iterator = rows.iterator();
+            ReviewRow review = null;
+            Set<Integer> roles = new HashSet<>();
+            while (iterator.hasNext()) {
+                ReviewRoleRow row = iterator.next();
+                if (review != null && !review.getId().equals(row.getReview().getId())) {
+                    generator.writeObject(reviewMapper.toReviewResponse(review, roles));
+                    roles = new HashSet<>();
+                }
+                review = row.getReview();
+                if (row.getUserRole() != null) {
+                    roles.add(row.getUserRole());
+                }
+            }
+            if (review != null) {
+                generator.writeObject(reviewMapper.toReviewResponse(review, roles));
+            }
+            generator.writeEndArray();
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByPlaceId(Long placeId) {
-        return reviewRepository.findAllByPlaceId(placeId).stream()
-                .map(reviewMapper::toReviewResponse)
-                .collect(Collectors.toList());
+        return toReviewResponses(reviewRepository.findRows(placeId, null, ReviewSort.CREATED_AT, null, null, null));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByUserId(Long userId) {
-        return reviewRepository.findAllByUserId(userId).stream()
-                .map(reviewMapper::toReviewResponse)
-                .collect(Collectors.toList());
+        return toReviewResponses(reviewRepository.findRows(null, userId, ReviewSort.CREATED_AT, null, null, null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReviewResponse> getReviewPage(ReviewFilterDto filter) {
+        ReviewSort sort = filter.getSort() != null ? filter.getSort() : ReviewSort.CREATED_AT;
+        int size = filter.getSize() != null ? filter.getSize() : 20;
+        long[] after = parseCursor(filter.getCursor(), sort);
+
+        List<ReviewRow> rows = reviewRepository.findRows(filter.getPlaceId(), filter.getUserId(), sort,
+                after == null ? null : after[0], after == null ? null : after[1], size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<ReviewRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? toCursor(page.get(size - 1), sort) : null;
+
+        return new CursorPageResponse<>(toReviewResponses(page), page.size(), nextCursor);
     }
 
     @Override
@@ -73,11 +138,14 @@ public class ReviewServiceImpl implements ReviewService {
         User currentUser = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new IllegalStateException("Current user not found"));
 
-        Place place = placeRepository.findById(request.getPlaceId())
-                .orElseThrow(() -> new PlaceNotFound("Place not found with id: " + request.getPlaceId(), HttpStatus.NOT_FOUND));
+        if (!placeRepository.existsById(request.getPlaceId())) {
+            throw new PlaceNotFound("Place not found with id: " + request.getPlaceId(), HttpStatus.NOT_FOUND);
+        }
+        Place place = placeRepository.getReferenceById(request.getPlaceId());
 
         Review review = reviewMapper.toReview(request, place, currentUser);
         Review savedReview = reviewRepository.save(review);
+        placeRepository.addReviewRating(request.getPlaceId(), 1, request.getRating());
         return reviewMapper.toReviewResponse(savedReview);
     }
 
@@ -121,5 +189,66 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         reviewRepository.deleteById(id);
+        placeRepository.addReviewRating(review.getPlace().getId(), -1, -review.getRating());
+    }
+
+    // Review writes only take a shared lock on the place row and touch a random stripe row, so
+    // reviews of a hot place no longer queue on the place row or on the global version counter.
+    // The price is that review counts, averages and their change feed entries lag the review
+    // itself by up to one places.reviews.fold-interval; the fold locks each place row
+    // exclusively for a moment and bumps the version once per run.
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${places.reviews.fold-interval}", initialDelayString = "${places.reviews.fold-interval}")
+    public void foldReviewRatings() {
+        Map<Long, Boolean> folded = placeRepository.foldReviewRatings(FOLD_BATCH_SIZE);
+        List<Long> approved = folded.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!approved.isEmpty()) {
+            placeChangeService.recordAll(approved, PlaceChangeType.UPDATED);
+        } else if (!folded.isEmpty()) {
+            // Only pending places changed: nothing for the change log, but /places/{id} shows them
+            placeDataVersion.bump();
+        }
+    }
+
+    // Roles of all authors on the page in one query, instead of one collection load per review
+    private List<ReviewResponse> toReviewResponses(List<ReviewRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> userIds = new HashSet<>();
+        rows.forEach(row -> userIds.add(row.getUserId()));
+        Map<Long, Set<Integer>> rolesByUser = new HashMap<>();
+        for (UserRoleValue roleValue : userRepository.findRoleValuesByUserIds(userIds)) {
+            rolesByUser.computeIfAbsent(roleValue.getUserId(), id -> new HashSet<>()).add(roleValue.getRoleValue());
+        }
+        return rows.stream()
+                .map(row -> reviewMapper.toReviewResponse(row, rolesByUser.getOrDefault(row.getUserId(), Set.of())))
+                .toList();
+    }
+
+    // Opaque to clients: base64 of "sort:value:id", so a cursor cannot be replayed with another sort
+    private static String toCursor(ReviewRow row, ReviewSort sort) {
+        long value = sort == ReviewSort.RATING ? row.getRating() : row.getCreatedAt();
+        String key = sort.name() + ":" + value + ":" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] parseCursor(String cursor, ReviewSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
-} 
\ No newline at end of file
+}
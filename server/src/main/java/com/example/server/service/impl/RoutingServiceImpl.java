@@ -0,0 +1,136 @@
+package com.example.server.service.impl;
+
+import com.example.server.dto.route.RoutePointDto;
+import com.example.server.dto.route.RouteResponse;
+import com.example.server.exception.RouteNotFound;
+import com.example.server.exception.RoutingBusy;
+import com.example.server.routing.OsmGraphLoader;
+import com.example.server.routing.Route;
+import com.example.server.routing.RoutingGraph;
+import com.example.server.service.RoutingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Answers walking routes from a graph built once from a local OSM extract, so no request ever
+ * leaves the server. The graph is loaded in the background after startup; until it is ready the
+ * endpoint reports a conflict rather than holding requests.
+ */
+@Slf4j
+@Service
+public class RoutingServiceImpl implements RoutingService {
+
+    private final String osmFile;
+    private final double maxSnapDistance;
+    private final Timer routeTimer;
+
+    private volatile RoutingGraph graph;
+    private volatile boolean loading;
+
+    public RoutingServiceImpl(@Value("${routing.osm-file:}") String osmFile,
+                              @Value("${routing.max-snap-distance:500}") double maxSnapDistance,
+                              MeterRegistry meterRegistry) {
+        this.osmFile = osmFile;
+        this.maxSnapDistance = maxSnapDistance;
+        this.routeTimer = Timer.builder("routing.route")
+                .description("Time spent searching accessible routes")
+                .register(meterRegistry);
+        Gauge.builder("routing.graph.edges", this, service -> service.graph == null ? 0 : service.graph.edgeCount())
+                .description("Directed edges in the routing graph")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadGraph() {
+        if (osmFile == null || osmFile.isBlank()) {
+            return;
+        }
+        loading = true;
+        Thread loader = new Thread(() -> {
+            long started = System.nanoTime();
+            try {
+                graph = OsmGraphLoader.load(Path.of(osmFile));
+                log.info("Loaded routing graph from {}: {} nodes, {} edges in {} ms", osmFile, graph.nodeCount(),
+                        graph.edgeCount(), (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                log.error("Could not load routing graph from {}", osmFile, e);
+            } finally {
+                loading = false;
+            }
+        }, "routing-graph-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Override
+    public RouteResponse getAccessibleRoute(String from, String to) {
+        double[] start = parsePoint(from, "from");
+        double[] end = parsePoint(to, "to");
+        RoutingGraph current = graph;
+        if (current == null) {
+            throw new IllegalStateException(loading ? "Routing graph is still loading" : "Routing is not available");
+        }
+
+        return routeTimer.record(() -> {
+            int startNode = current.nearestNode(start[0], start[1], maxSnapDistance);
+            int endNode = current.nearestNode(end[0], end[1], maxSnapDistance);
+            if (startNode < 0 || endNode < 0) {
+                throw new RouteNotFound("No walkable path within " + (int) maxSnapDistance + " m of the "
+                        + (startNode < 0 ? "start" : "destination"), HttpStatus.NOT_FOUND);
+            }
+            Route route;
+            try {
+                route = current.route(startNode, endNode);
+            } catch (RejectedExecutionException e) {
+                throw new RoutingBusy(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            if (route == null) {
+                throw new RouteNotFound("No accessible route between the given points", HttpStatus.NOT_FOUND);
+            }
+            return toRouteResponse(route);
+        });
+    }
+
+    private static RouteResponse toRouteResponse(Route route) {
+        List<RoutePointDto> points = new ArrayList<>(route.getLats().length);
+        for (int i = 0; i < route.getLats().length; i++) {
+            points.add(new RoutePointDto(route.getLats()[i], route.getLons()[i]));
+        }
+        return RouteResponse.builder()
+                .distanceMeters(route.getDistanceMeters())
+                .cost(route.getCost())
+                .points(points)
+                .build();
+    }
+
+    private static double[] parsePoint(String value, String name) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(name + " must be lat,lon");
+        }
+        double lat;
+        double lon;
+        try {
+            lat = Double.parseDouble(parts[0].trim());
+            lon = Double.parseDouble(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be lat,lon");
+        }
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException(name + " is out of range");
+        }
+        return new double[]{lat, lon};
+    }
+}
@@ -2,11 +2,15 @@ package com.example.server.service.impl;
 
 import com.example.server.dto.user.UserDto;
 import com.example.server.entity.User;
+import com.example.server.event.UserChangedEvent;
 import com.example.server.exception.UserNotFound;
 import com.example.server.mapper.UserMapper;
+import com.example.server.repository.PlaceRepository;
 import com.example.server.repository.UserRepository;
+import com.example.server.service.PlaceChangeService;
 import com.example.server.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,7 +24,10 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PlaceRepository placeRepository;
     private final UserMapper userMapper;
+    private final PlaceChangeService placeChangeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -51,6 +58,7 @@ public class UserServiceImpl implements UserService {
     public UserDto updateUserById(Long id, UserDto request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFound("User not found with id: " + id, HttpStatus.NOT_FOUND));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
 
         if (StringUtils.hasText(request.getEmail()) && !request.getEmail().equals(user.getEmail())) {
             userRepository.findByEmail(request.getEmail())
@@ -75,9 +83,12 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUserById(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFound("User not found with id: " + id, HttpStatus.NOT_FOUND);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFound("User not found with id: " + id, HttpStatus.NOT_FOUND));
+        // Reviews are removed by the database cascade, so take them out of the place aggregates first
+        placeChangeService.recordPlacesReviewedBy(id);
+        placeRepository.removeReviewRatingsByUserId(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 }
@@ -0,0 +1,324 @@
+package com.example.server.upstream;
+
+import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
+import com.example.server.util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sends Nominatim searches at the rate the public instance allows, one call per query at a time.
+ * <p>
+ * A search for a query that is already queued or running joins that call instead of starting
+ * another. New calls wait in a short queue and a single dispatcher thread releases them through a
+ * token bucket, always taking the call with the most waiting searches and, among those, the newest,
+ * since a user who keeps typing no longer needs the shorter query. When the queue is full the
+ * least wanted call is shed, and calls that waited longer than the maximum wait are dropped before
+ * they are sent; shed calls fail with {@link RejectedExecutionException}.
+ * <p>
+ * The queue is small by design, so it is a plain list scanned under a lock, which also lets a
+ * queued call move up as more searches join it.
+ */
+@Slf4j
+@Component
+public class NominatimScheduler {
+
+    private final ExecutorService upstreamExecutor;
+    private final long permitIntervalNanos;
+    private final double burst;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final List<Call> queue = new ArrayList<>();
+    private final Map<String, Call> calls = new HashMap<>();
+    private Thread dispatcher;
+
+    private final Counter coalesced;
+    private final Counter shedFull;
+    private final Counter shedStale;
+    private final Timer queueWait;
+
+    // Only touched by the dispatcher thread
+    private double permits;
+    private long refilledAt = System.nanoTime();
+    // Written by the dispatcher, read by searches estimating their wait
+    private volatile long nextPermitAt = System.nanoTime();
+
+    public NominatimScheduler(ExecutorService upstreamExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${openstreetmap.scheduler.requests-per-second}") double requestsPerSecond,
+                              @Value("${openstreetmap.scheduler.burst}") int burst,
+                              @Value("${openstreetmap.scheduler.max-queue}") int maxQueue,
+                              @Value("${openstreetmap.scheduler.max-wait}") Duration maxWait) {
+        this.upstreamExecutor = upstreamExecutor;
+        this.permitIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burst = burst;
+        this.permits = burst;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.coalesced = Counter.builder("openstreetmap.scheduler.coalesced")
+                .description("Searches that joined a Nominatim call already queued or running")
+                .register(meterRegistry);
+        this.shedFull = Counter.builder("openstreetmap.scheduler.shed").tag("reason", "queue_full")
+                .description("Nominatim calls dropped without being sent")
+                .register(meterRegistry);
+        this.shedStale = Counter.builder("openstreetmap.scheduler.shed").tag("reason", "stale")
+                .description("Nominatim calls dropped without being sent")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("openstreetmap.scheduler.wait")
+                .description("Time Nominatim calls spent queued before being sent")
+                .register(meterRegistry);
+        Gauge.builder("openstreetmap.scheduler.queue", this, NominatimScheduler::queueDepth)
+                .description("Nominatim calls waiting for the rate limit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new Thread(this::dispatch, "nominatim-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        lock.lock();
+        try {
+            for (Call call : queue) {
+                calls.remove(call.key, call);
+                call.future.completeExceptionally(new RejectedExecutionException("Nominatim scheduler stopped"));
+            }
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Result of the Nominatim call for the query, shared with every other search for the same
+     * normalized query until it completes. The supplier runs at most once per call, on the
+     * upstream executor.
+     */
+    public CompletableFuture<List<OpenStreetMapSearchResponse>> submit(String query,
+                                                                       Supplier<List<OpenStreetMapSearchResponse>> search) {
+        String key = TextNormalizer.normalize(query);
+        Call shed = null;
+        Call call;
+        lock.lock();
+        try {
+            call = calls.get(key);
+            if (call != null) {
+                call.waiters++;
+                coalesced.increment();
+                return call.future;
+            }
+            call = new Call(key, search, System.nanoTime());
+            if (queue.size() >= maxQueue) {
+                shed = leastWanted();
+                if (shed == null || ranksBefore(shed, call)) {
+                    shedFull.increment();
+                    return CompletableFuture.failedFuture(new RejectedExecutionException("Nominatim queue is full"));
+                }
+                queue.remove(shed);
+                calls.remove(shed.key, shed);
+                shedFull.increment();
+            }
+            queue.add(call);
+            calls.put(key, call);
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (shed != null) {
+            shed.future.completeExceptionally(new RejectedExecutionException("Nominatim queue is full"));
+        }
+        return call.future;
+    }
+
+    /**
+     * Rough time until a call with a single waiting search, submitted now, would be sent: the
+     * next permit plus one interval for every queued call that more searches are waiting for.
+     */
+    public long expectedDelayNanos() {
+        int ahead = 0;
+        lock.lock();
+        try {
+            for (Call call : queue) {
+                if (call.waiters > 1) {
+                    ahead++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Math.max(0, nextPermitAt - System.nanoTime()) + ahead * permitIntervalNanos;
+    }
+
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                awaitQueued();
+                awaitPermit();
+                Call call = takeNext();
+                if (call != null) {
+                    permits--;
+                    nextPermitAt = refilledAt + (long) (Math.max(0, 1 - permits) * permitIntervalNanos);
+                    send(call);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Nominatim dispatcher error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                queued.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitPermit() throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            permits = Math.min(burst, permits + (double) (now - refilledAt) / permitIntervalNanos);
+            refilledAt = now;
+            if (permits >= 1) {
+                return;
+            }
+            TimeUnit.NANOSECONDS.sleep((long) ((1 - permits) * permitIntervalNanos));
+        }
+    }
+
+    // Picked only once a permit is in hand, so searches that joined while it waited count
+    private Call takeNext() {
+        List<Call> stale = new ArrayList<>();
+        Call next = null;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            for (Call call : queue) {
+                if (now - call.queuedAt > maxWaitNanos) {
+                    stale.add(call);
+                } else if (next == null || ranksBefore(call, next)) {
+                    next = call;
+                }
+            }
+            for (Call call : stale) {
+                queue.remove(call);
+                calls.remove(call.key, call);
+            }
+            if (next != null) {
+                queue.remove(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Call call : stale) {
+            shedStale.increment();
+            call.future.completeExceptionally(new RejectedExecutionException("Nominatim call waited too long"));
+        }
+        return next;
+    }
+
+    private void send(Call call) {
+        queueWait.record(System.nanoTime() - call.queuedAt, TimeUnit.NANOSECONDS);
+        try {
+            upstreamExecutor.execute(() -> {
+                try {
+                    List<OpenStreetMapSearchResponse> results = call.search.get();
+                    finish(call);
+                    call.future.complete(results);
+                } catch (RuntimeException e) {
+                    finish(call);
+                    call.future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(call);
+            call.future.completeExceptionally(e);
+        }
+    }
+
+    // The search stores its results in the cache first, so a later search finds either this call or the cache
+    private void finish(Call call) {
+        lock.lock();
+        try {
+            calls.remove(call.key, call);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Call leastWanted() {
+        Call least = null;
+        for (Call call : queue) {
+            if (least == null || ranksBefore(least, call)) {
+                least = call;
+            }
+        }
+        return least;
+    }
+
+    // More waiting searches first, then newer calls
+    private static boolean ranksBefore(Call a, Call b) {
+        if (a.waiters != b.waiters) {
+            return a.waiters > b.waiters;
+        }
+        return a.queuedAt - b.queuedAt > 0;
+    }
+
+    private static final class Call {
+        private final String key;
+        private final Supplier<List<OpenStreetMapSearchResponse>> search;
+        private final long queuedAt;
+        private final CompletableFuture<List<OpenStreetMapSearchResponse>> future = new CompletableFuture<>();
+        private int waiters = 1;
+
+        Call(String key, Supplier<List<OpenStreetMapSearchResponse>> search, long queuedAt) {
+            this.key = key;
+            this.search = search;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.server.util;
+
+public class GeoUtils {
+
+    public static final double MAX_MERCATOR_LAT = 85.05112878;
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /**
+     * Web Mercator x of a longitude, normalized to [0, 1].
+     */
+    public static double mercatorX(double lon) {
+        return (lon + 180.0) / 360.0;
+    }
+
+    /**
+     * Web Mercator y of a latitude, normalized to [0, 1] with 0 at the north edge.
+     */
+    public static double mercatorY(double lat) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    /**
+     * Index of the grid cell containing a normalized coordinate on a 2^level grid.
+     */
+    public static long gridCell(double normalized, int level) {
+        long cells = 1L << level;
+        long cell = (long) Math.floor(normalized * cells);
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    /**
+     * Great-circle distance in metres (haversine formula).
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
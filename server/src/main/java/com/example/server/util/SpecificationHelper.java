@@ -1,6 +1,7 @@
 package com.example.server.util;
 
 import com.example.server.dto.place.PlaceFilterDto;
+import com.example.server.dto.place.PlaceModerationRequest;
 import com.example.server.entity.Place;
 import com.example.server.entity.PlaceCategory;
 import org.springframework.data.jpa.domain.Specification;
@@ -29,6 +30,29 @@ public class SpecificationHelper {
                 .and(hasAccessibilityFeatures(filter.getAccessibility()));
     }
 
+    public static Specification<Place> pendingModeration(PlaceModerationRequest request) {
+        Specification<Place> spec = Specification.where((root, query, cb) -> cb.isFalse(root.get("approved")));
+        spec = spec.and(hasCategory(request.getCategory()));
+        if (request.getCreatedBy() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("createdBy").get("id"), request.getCreatedBy()));
+        }
+        if (request.getCreatedFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), request.getCreatedFrom()));
+        }
+        if (request.getCreatedTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("createdAt"), request.getCreatedTo()));
+        }
+        return spec;
+    }
+
+    public static Specification<Place> idGreaterThan(Long id) {
+        if (id == null) {
+            return Specification.where(null);
+        }
+
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
     private static Specification<Place> isApproved() {
         return (root, query, cb) -> cb.equal(root.get("approved"), true);
     }
@@ -0,0 +1,86 @@
+package com.example.server.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class TextNormalizer {
+
+    private static final Locale UKRAINIAN = Locale.forLanguageTag("uk");
+    private static final String APOSTROPHE_VARIANTS = "’ʼ‘`´′";
+    private static final Pattern APOSTROPHES = Pattern.compile("[" + APOSTROPHE_VARIANTS + "]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Map<Character, String> CYRILLIC_TO_LATIN = Map.ofEntries(
+            Map.entry('а', "a"), Map.entry('б', "b"), Map.entry('в', "v"), Map.entry('г', "h"),
+            Map.entry('ґ', "g"), Map.entry('д', "d"), Map.entry('е', "e"), Map.entry('є', "ie"),
+            Map.entry('ж', "zh"), Map.entry('з', "z"), Map.entry('и', "y"), Map.entry('і', "i"),
+            Map.entry('ї', "i"), Map.entry('й', "i"), Map.entry('к', "k"), Map.entry('л', "l"),
+            Map.entry('м', "m"), Map.entry('н', "n"), Map.entry('о', "o"), Map.entry('п', "p"),
+            Map.entry('р', "r"), Map.entry('с', "s"), Map.entry('т', "t"), Map.entry('у', "u"),
+            Map.entry('ф', "f"), Map.entry('х', "kh"), Map.entry('ц', "ts"), Map.entry('ч', "ch"),
+            Map.entry('ш', "sh"), Map.entry('щ', "shch"), Map.entry('ь', ""), Map.entry('ю', "iu"),
+            Map.entry('я', "ia"), Map.entry('ё', "e"), Map.entry('ы', "y"), Map.entry('э', "e"),
+            Map.entry('ъ', ""));
+    private static final char CYRILLIC_FIRST = 'а';
+    private static final String[] LATIN_BY_CYRILLIC = new String['ґ' - CYRILLIC_FIRST + 1];
+
+    static {
+        CYRILLIC_TO_LATIN.forEach((cyrillic, latin) -> LATIN_BY_CYRILLIC[cyrillic - CYRILLIC_FIRST] = latin);
+    }
+
+    /**
+     * Folds a free-text search query so that equivalent spellings compare equal: Unicode
+     * compatibility forms, case (by Ukrainian rules), the many apostrophes used in Ukrainian
+     * words ("м'ясо", "м’ясо", "мʼясо") and runs of whitespace.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(UKRAINIAN);
+        folded = APOSTROPHES.matcher(folded).replaceAll("'");
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * Reduces text to a search key: {@link #normalize(String) normalized}, Ukrainian Cyrillic
+     * transliterated to Latin (national 2010 table, without the word-initial variants), Latin
+     * diacritics dropped, and everything except letters and digits turned into single spaces.
+     * "Кав’ярня", "кавʼярня" and "kaviarnia" all reduce to "kaviarnia".
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(UKRAINIAN);
+        StringBuilder folded = new StringBuilder(lower.length() + 8);
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            String replacement = c >= CYRILLIC_FIRST && c - CYRILLIC_FIRST < LATIN_BY_CYRILLIC.length
+                    ? LATIN_BY_CYRILLIC[c - CYRILLIC_FIRST]
+                    : null;
+            if (replacement == null && (c == '\'' || APOSTROPHE_VARIANTS.indexOf(c) >= 0)) {
+                continue;
+            }
+            if (replacement == null && !Character.isLetterOrDigit(c)) {
+                pendingSpace = folded.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                folded.append(' ');
+                pendingSpace = false;
+            }
+            if (replacement != null) {
+                folded.append(replacement);
+            } else if (c < 0x80) {
+                folded.append(c);
+            } else {
+                folded.append(DIACRITICS.matcher(Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD)).replaceAll(""));
+            }
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.server.benchmark;
+
+import com.example.server.security.TokenClaims;
+import com.example.server.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request's bearer token.
+ * <p>
+ * {@code legacyFilterPath} reproduces what the filter used to do: three full parses, each
+ * decoding the secret and building a new key and parser. Run {@link #main} with the test
+ * classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+	private JwtServiceImpl uncachedService;
+	private JwtServiceImpl cachedService;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		uncachedService = new JwtServiceImpl(SECRET, 3_600_000, 604_800_000, 0);
+		cachedService = new JwtServiceImpl(SECRET, 3_600_000, 604_800_000, 10_000);
+		token = uncachedService.generateAccessToken(User.withUsername("user@example.com")
+				.password("password")
+				.authorities("ROLE_USER")
+				.build());
+	}
+
+	@Benchmark
+	public boolean legacyFilterPath() {
+		String username = legacyClaims(token).getSubject();
+		return legacyClaims(token).getSubject().equals(username)
+				&& !legacyClaims(token).getExpiration().before(new Date());
+	}
+
+	@Benchmark
+	public Optional<TokenClaims> verifyOnce() {
+		return uncachedService.verifyToken(token);
+	}
+
+	@Benchmark
+	public Optional<TokenClaims> verifyOnceCached() {
+		return cachedService.verifyToken(token);
+	}
+
+	private static Claims legacyClaims(String token) {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		return Jwts.parserBuilder()
+				.setSigningKey(key)
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtVerificationBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.server.benchmark;
+
+import com.example.server.routing.OsmGraphLoader;
+import com.example.server.routing.Route;
+import com.example.server.routing.RoutingGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accessible routes per second on a synthetic street grid, on one thread and on every core.
+ * <p>
+ * The grid is written as an OSM extract and loaded through {@link OsmGraphLoader}, so the graph
+ * has the same shape as a real one: footways with some steps, rough surfaces and kerbs. Each
+ * thread walks its own sequence of random origin/destination pairs. Run {@link #main} with the
+ * test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingBenchmark {
+
+	private static final double SPACING_DEGREES = 0.0008;
+	private static final int PAIRS = 4096;
+
+	@Param({"300"})
+	public int gridSize;
+
+	private RoutingGraph graph;
+	private int[] origins;
+	private int[] destinations;
+
+	@Setup
+	public void setUp() throws IOException {
+		Path file = Files.createTempFile("routing-benchmark", ".osm");
+		try {
+			writeGrid(file, gridSize);
+			graph = OsmGraphLoader.load(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+		Random random = new Random(42);
+		origins = new int[PAIRS];
+		destinations = new int[PAIRS];
+		double extent = (gridSize - 1) * SPACING_DEGREES;
+		for (int i = 0; i < PAIRS; i++) {
+			origins[i] = graph.nearestNode(50 + random.nextDouble() * extent, 30 + random.nextDouble() * extent, 500);
+			destinations[i] = graph.nearestNode(50 + random.nextDouble() * extent, 30 + random.nextDouble() * extent, 500);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int next = (int) Thread.currentThread().threadId();
+
+		int next() {
+			return next++ & (PAIRS - 1);
+		}
+	}
+
+	@Benchmark
+	public Route routeSingleThread(Cursor cursor) {
+		int pair = cursor.next();
+		return graph.route(origins[pair], destinations[pair]);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Route routeAllCores(Cursor cursor) {
+		int pair = cursor.next();
+		return graph.route(origins[pair], destinations[pair]);
+	}
+
+	private static void writeGrid(Path file, int size) throws IOException {
+		Random random = new Random(7);
+		try (BufferedWriter out = Files.newBufferedWriter(file)) {
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<osm version=\"0.6\">\n");
+			for (int row = 0; row < size; row++) {
+				for (int col = 0; col < size; col++) {
+					out.write("<node id=\"" + nodeId(size, row, col) + "\" lat=\"" + (50 + row * SPACING_DEGREES)
+							+ "\" lon=\"" + (30 + col * SPACING_DEGREES) + "\"");
+					if (random.nextInt(50) == 0) {
+						out.write("><tag k=\"barrier\" v=\"kerb\"/><tag k=\"kerb\" v=\"rolled\"/></node>\n");
+					} else {
+						out.write("/>\n");
+					}
+				}
+			}
+			long wayId = 1;
+			for (int row = 0; row < size; row++) {
+				for (int col = 0; col + 1 < size; col++) {
+					writeWay(out, wayId++, nodeId(size, row, col), nodeId(size, row, col + 1), random);
+				}
+			}
+			for (int col = 0; col < size; col++) {
+				for (int row = 0; row + 1 < size; row++) {
+					writeWay(out, wayId++, nodeId(size, row, col), nodeId(size, row + 1, col), random);
+				}
+			}
+			out.write("</osm>\n");
+		}
+	}
+
+	private static void writeWay(BufferedWriter out, long id, long from, long to, Random random) throws IOException {
+		out.write("<way id=\"" + id + "\"><nd ref=\"" + from + "\"/><nd ref=\"" + to + "\"/>");
+		int kind = random.nextInt(20);
+		if (kind == 0) {
+			out.write("<tag k=\"highway\" v=\"steps\"/>");
+		} else if (kind == 1) {
+			out.write("<tag k=\"highway\" v=\"footway\"/><tag k=\"surface\" v=\"gravel\"/>");
+		} else {
+			out.write("<tag k=\"highway\" v=\"footway\"/>");
+		}
+		out.write("</way>\n");
+	}
+
+	private static long nodeId(int size, int row, int col) {
+		return (long) row * size + col + 1;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RoutingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,160 @@
+package com.example.server.index;
+
+import com.example.server.entity.PlaceCategory;
+import com.example.server.enums.AccessibilityFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceFacetIndexTest {
+
+    private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+    private static final AccessibilityFeature[] FEATURES = AccessibilityFeature.values();
+    private static final int ALL_FEATURES = (1 << FEATURES.length) - 1;
+
+    private final Random random = new Random(42);
+    private final Map<Long, PlacePoint> places = new HashMap<>();
+    private final PlaceFacetIndex index = new PlaceFacetIndex();
+    private long nextId = 1;
+
+    @Test
+    void countsMatchBruteForceAfterMixedUpdates() {
+        for (int i = 0; i < 2000; i++) {
+            PlacePoint point = randomPoint(nextId++);
+            places.put(point.getId(), point);
+        }
+        index.onPointsChanged(List.copyOf(places.values()));
+        assertCountsMatch();
+
+        for (int round = 0; round < 20; round++) {
+            index.onPointsUpdated(randomChanges(300));
+            assertThat(index.size()).isEqualTo(places.size());
+            assertCountsMatch();
+        }
+    }
+
+    @Test
+    void laterSnapshotsAreIgnoredOnceBuilt() {
+        PlacePoint cafe = point(1, PlaceCategory.CAFE, AccessibilityFeature.WHEELCHAIR_ACCESSIBLE.mask());
+        index.onPointsChanged(List.of(cafe));
+        index.onPointsChanged(List.of());
+
+        PlaceFacetCounts counts = index.count(new int[0], 0);
+        assertThat(counts.getTotal()).isEqualTo(1);
+        assertThat(counts.getCategories()[PlaceCategory.CAFE.ordinal()]).isEqualTo(1);
+        assertThat(counts.getFeatures()[AccessibilityFeature.WHEELCHAIR_ACCESSIBLE.ordinal()]).isEqualTo(1);
+    }
+
+    @Test
+    void categoryCountsIgnoreTheCategoryFilter() {
+        int wheelchair = AccessibilityFeature.WHEELCHAIR_ACCESSIBLE.mask();
+        index.onPointsChanged(List.of(
+                point(1, PlaceCategory.CAFE, wheelchair),
+                point(2, PlaceCategory.CAFE, 0),
+                point(3, PlaceCategory.PARK, wheelchair),
+                point(4, PlaceCategory.LIBRARY, wheelchair)));
+
+        PlaceFacetCounts counts = index.count(new int[]{wheelchair}, PlaceSpatialIndex.categoryMask(List.of(PlaceCategory.CAFE)));
+
+        assertThat(counts.getTotal()).isEqualTo(1);
+        assertThat(counts.getCategories()[PlaceCategory.CAFE.ordinal()]).isEqualTo(1);
+        assertThat(counts.getCategories()[PlaceCategory.PARK.ordinal()]).isEqualTo(1);
+        assertThat(counts.getCategories()[PlaceCategory.LIBRARY.ordinal()]).isEqualTo(1);
+        assertThat(counts.getFeatures()[AccessibilityFeature.WHEELCHAIR_ACCESSIBLE.ordinal()]).isEqualTo(1);
+    }
+
+    // Adds, removes and changes places in the model and returns the same changes for the index
+    private List<PlacePointChange> randomChanges(int count) {
+        List<PlacePointChange> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(3);
+            if (kind == 0 || places.isEmpty()) {
+                PlacePoint added = randomPoint(nextId++);
+                places.put(added.getId(), added);
+                changes.add(new PlacePointChange(null, added));
+                continue;
+            }
+            PlacePoint existing = anyPlace();
+            if (kind == 1) {
+                places.remove(existing.getId());
+                changes.add(new PlacePointChange(existing, null));
+            } else {
+                PlacePoint changed = randomPoint(existing.getId());
+                places.put(changed.getId(), changed);
+                changes.add(new PlacePointChange(existing, changed));
+            }
+        }
+        return changes;
+    }
+
+    private void assertCountsMatch() {
+        assertCountsMatch(new int[0], 0);
+        for (int i = 0; i < 50; i++) {
+            int[] groups = new int[random.nextInt(3)];
+            for (int g = 0; g < groups.length; g++) {
+                groups[g] = 1 + random.nextInt(ALL_FEATURES);
+            }
+            int categories = random.nextBoolean() ? 0 : random.nextInt(1 << CATEGORIES.length);
+            assertCountsMatch(groups, categories);
+        }
+    }
+
+    private void assertCountsMatch(int[] groups, int categories) {
+        int total = 0;
+        int[] categoryCounts = new int[CATEGORIES.length];
+        int[] featureCounts = new int[FEATURES.length];
+        for (PlacePoint point : places.values()) {
+            boolean featuresMatch = true;
+            for (int group : groups) {
+                featuresMatch &= (point.getFeatures() & group) != 0;
+            }
+            if (!featuresMatch) {
+                continue;
+            }
+            if (point.getCategory() != null) {
+                categoryCounts[point.getCategory().ordinal()]++;
+            }
+            boolean categoryMatches = categories == 0
+                    || (point.getCategory() != null && (categories & (1 << point.getCategory().ordinal())) != 0);
+            if (!categoryMatches) {
+                continue;
+            }
+            total++;
+            for (AccessibilityFeature feature : FEATURES) {
+                if (point.hasFeature(feature)) {
+                    featureCounts[feature.ordinal()]++;
+                }
+            }
+        }
+
+        PlaceFacetCounts counts = index.count(groups, categories);
+        assertThat(counts.getTotal()).isEqualTo(total);
+        assertThat(counts.getCategories()).containsExactly(categoryCounts);
+        assertThat(counts.getFeatures()).containsExactly(featureCounts);
+    }
+
+    private PlacePoint anyPlace() {
+        List<PlacePoint> all = new ArrayList<>(places.values());
+        return all.get(random.nextInt(all.size()));
+    }
+
+    private PlacePoint randomPoint(long id) {
+        PlaceCategory category = random.nextInt(20) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+        return point(id, category, random.nextInt(ALL_FEATURES + 1));
+    }
+
+    private static PlacePoint point(long id, PlaceCategory category, int features) {
+        return PlacePoint.builder()
+                .id(id)
+                .name("Place " + id)
+                .category(category)
+                .features(features)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceSearchIndexTest {
+
+    private final PlaceSearchIndex index = new PlaceSearchIndex();
+
+    @Test
+    void matchesAcrossScriptsCaseAndApostrophes() {
+        index.onPointsChanged(List.of(place(1, "Кав’ярня Світанок", "вул. Хрещатик, 1")));
+
+        assertThat(ids("kaviarnia")).containsExactly(1L);
+        assertThat(ids("кавʼярня")).containsExactly(1L);
+        assertThat(ids("KAVIARNIA SVITANOK")).containsExactly(1L);
+        assertThat(ids("хрещатик")).containsExactly(1L);
+    }
+
+    @Test
+    void nameHitsRankAboveAddressHits() {
+        index.onPointsChanged(List.of(
+                place(1, "Corner cafe", "Bookshop lane 3"),
+                place(2, "Bookshop", "Main street 1")));
+
+        assertThat(ids("bookshop")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void wholeWordsRankAbovePrefixesAndPrefixesAboveInfixes() {
+        index.onPointsChanged(List.of(
+                place(1, "Bookshop", null),
+                place(2, "Shopping mall", null),
+                place(3, "Shop", null)));
+
+        assertThat(ids("shop")).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void shortTermsOnlyMatchWordStarts() {
+        index.onPointsChanged(List.of(
+                place(1, "Arcade", "Street 1"),
+                place(2, "Cafe Nord", "Street 2")));
+
+        assertThat(ids("ca")).containsExactly(2L);
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        index.onPointsChanged(List.of(
+                place(1, "Cafe Nord", null),
+                place(2, "Cafe Central", null)));
+
+        assertThat(ids("cafe central")).containsExactly(2L);
+        assertThat(ids("cafe south")).isEmpty();
+    }
+
+    @Test
+    void tiesGoToShorterNamesThenBetterScoresThenOlderPlaces() {
+        index.onPointsChanged(List.of(
+                place(1, "City Pharmacy", 2.0),
+                place(2, "Town Pharmacy", 4.0),
+                place(3, "Old Pharmacy", 1.0),
+                place(4, "Sea Pharmacy", 1.0)));
+
+        assertThat(ids("pharmacy")).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(index.search("pharmacy", 2)).extracting(PlacePoint::getId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void updatesReplaceCachedResults() {
+        PlacePoint museum = place(1, "Museum", null);
+        PlacePoint gallery = place(2, "Gallery", null);
+        index.onPointsChanged(List.of(museum, gallery));
+        assertThat(ids("museum")).containsExactly(1L);
+        assertThat(ids("gallery")).containsExactly(2L);
+
+        PlacePoint library = place(1, "Library", null);
+        index.onPointsUpdated(List.of(
+                new PlacePointChange(museum, library),
+                new PlacePointChange(gallery, null),
+                new PlacePointChange(null, place(3, "Museum of Art", null))));
+
+        assertThat(ids("museum")).containsExactly(3L);
+        assertThat(ids("library")).containsExactly(1L);
+        assertThat(ids("gallery")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void blankQueriesFindNothing() {
+        index.onPointsChanged(List.of(place(1, "Museum", null)));
+
+        assertThat(ids("")).isEmpty();
+        assertThat(ids(" ,. ")).isEmpty();
+        assertThat(index.search("museum", 0)).isEmpty();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(PlacePoint::getId).toList();
+    }
+
+    private static PlacePoint place(long id, String name, String address) {
+        return PlacePoint.builder().id(id).name(name).address(address).build();
+    }
+
+    private static PlacePoint place(long id, String name, double score) {
+        return PlacePoint.builder().id(id).name(name).address("Main street").score(score).build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.server.index;
+
+import com.example.server.entity.PlaceCategory;
+import com.example.server.enums.AccessibilityFeature;
+import com.example.server.util.GeoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PlaceSpatialIndexTest {
+
+    private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+    private static final int ALL_FEATURES = (1 << AccessibilityFeature.values().length) - 1;
+
+    // Roughly the extent of Kyiv
+    private static final double MIN_LAT = 50.35;
+    private static final double MAX_LAT = 50.55;
+    private static final double MIN_LON = 30.35;
+    private static final double MAX_LON = 30.70;
+
+    private final Random random = new Random(7);
+    private final Map<Long, PlacePoint> places = new HashMap<>();
+    private final PlaceSpatialIndex index = new PlaceSpatialIndex(new SimpleMeterRegistry());
+    private long nextId = 1;
+
+    @Test
+    void nearestMatchesBruteForceAfterMixedUpdates() {
+        for (int i = 0; i < 3000; i++) {
+            PlacePoint point = randomPoint(nextId++);
+            places.put(point.getId(), point);
+        }
+        for (int round = 0; round < 10; round++) {
+            index.onPointsChanged(List.copyOf(places.values()));
+            assertThat(index.size()).isEqualTo(places.size());
+            for (int query = 0; query < 50; query++) {
+                double lat = randomLat();
+                double lon = randomLon();
+                int k = 1 + random.nextInt(25);
+                int features = random.nextInt(3) == 0 ? 1 + random.nextInt(ALL_FEATURES) : 0;
+                int categories = random.nextBoolean() ? 0 : random.nextInt(1 << CATEGORIES.length);
+                assertNearestMatches(lat, lon, k, features, categories);
+            }
+            applyRandomUpdates(500);
+        }
+    }
+
+    @Test
+    void radiusSearchStopsAtTheRadius() {
+        for (int i = 0; i < 2000; i++) {
+            PlacePoint point = randomPoint(nextId++);
+            places.put(point.getId(), point);
+        }
+        index.onPointsChanged(List.copyOf(places.values()));
+
+        double lat = randomLat();
+        double lon = randomLon();
+        List<PlaceNeighbor> found = index.findWithinRadius(lat, lon, 1500, Integer.MAX_VALUE);
+
+        long expected = places.values().stream()
+                .filter(point -> GeoUtils.distanceMeters(lat, lon, point.getLat(), point.getLon()) <= 1500)
+                .count();
+        assertThat(found).hasSize((int) expected);
+        assertThat(found).isSortedAccordingTo(Comparator.comparingDouble(PlaceNeighbor::getDistanceMeters));
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        index.onPointsChanged(List.of());
+
+        assertThat(index.findNearest(50.45, 30.52, 5)).isEmpty();
+        assertThat(index.findWithinRadius(50.45, 30.52, 1500, 10)).isEmpty();
+    }
+
+    // Distances are compared rather than IDs, since equally distant places may come in any order
+    private void assertNearestMatches(double lat, double lon, int k, int features, int categories) {
+        List<Double> expected = places.values().stream()
+                .filter(point -> (point.getFeatures() & features) == features)
+                .filter(point -> categories == 0
+                        || (point.getCategory() != null && (categories & (1 << point.getCategory().ordinal())) != 0))
+                .map(point -> GeoUtils.distanceMeters(lat, lon, point.getLat(), point.getLon()))
+                .sorted()
+                .limit(k)
+                .toList();
+
+        List<PlaceNeighbor> found = index.findNearest(lat, lon, k, features, categories);
+
+        assertThat(found).hasSameSizeAs(expected);
+        for (int i = 0; i < found.size(); i++) {
+            PlaceNeighbor neighbor = found.get(i);
+            PlacePoint point = neighbor.getPoint();
+            assertThat(point.getFeatures() & features).isEqualTo(features);
+            if (categories != 0) {
+                assertThat(categories & (1 << point.getCategory().ordinal())).isNotZero();
+            }
+            assertThat(neighbor.getDistanceMeters())
+                    .isCloseTo(GeoUtils.distanceMeters(lat, lon, point.getLat(), point.getLon()), within(1e-6))
+                    .isCloseTo(expected.get(i), within(1e-6));
+        }
+    }
+
+    private void applyRandomUpdates(int count) {
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(3);
+            if (kind == 0 || places.isEmpty()) {
+                PlacePoint added = randomPoint(nextId++);
+                places.put(added.getId(), added);
+                continue;
+            }
+            List<Long> ids = new ArrayList<>(places.keySet());
+            long id = ids.get(random.nextInt(ids.size()));
+            if (kind == 1) {
+                places.remove(id);
+            } else {
+                places.put(id, randomPoint(id));
+            }
+        }
+    }
+
+    private PlacePoint randomPoint(long id) {
+        return PlacePoint.builder()
+                .id(id)
+                .name("Place " + id)
+                .lat(randomLat())
+                .lon(randomLon())
+                .category(random.nextInt(20) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .features(random.nextInt(ALL_FEATURES + 1))
+                .build();
+    }
+
+    private double randomLat() {
+        return MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+    }
+
+    private double randomLon() {
+        return MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.server.service.impl;
+
+import com.example.server.entity.RefreshToken;
+import com.example.server.entity.User;
+import com.example.server.exception.AuthenticationException;
+import com.example.server.repository.RefreshTokenRepository;
+import com.example.server.repository.UserRepository;
+import com.example.server.security.TokenClaims;
+import com.example.server.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Runs without a test transaction, so each service call commits or rolls back on its own
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "jwt.refresh-token.expiration=60000"
+})
+@Import(RefreshTokenServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenReuseTest {
+
+    @Autowired
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private JwtService jwtService;
+
+    private User user;
+    private int issued;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("user@example.com")
+                .password("secret")
+                .firstName("Test")
+                .lastName("User")
+                .createdDate(System.currentTimeMillis())
+                .modifiedDate(System.currentTimeMillis())
+                .build());
+        TokenClaims claims = new TokenClaims(user.getEmail(), user.getId(), List.of(), Instant.now(), Instant.now().plusSeconds(60));
+        when(jwtService.generateRefreshToken(any(User.class))).thenAnswer(invocation -> "token-" + ++issued);
+        when(jwtService.verifyToken(anyString())).thenReturn(Optional.of(claims));
+    }
+
+    @Test
+    void reuseRevokesTheFamilyAlthoughTheCallFails() {
+        String first = refreshTokenService.issue(user, null);
+        String familyId = refreshTokenService.use(first).getFamilyId();
+        refreshTokenService.issue(user, familyId);
+        String otherDevice = refreshTokenService.issue(user, null);
+
+        assertThatThrownBy(() -> refreshTokenService.use(first)).isInstanceOf(AuthenticationException.class);
+
+        List<RefreshToken> tokens = refreshTokenRepository.findAll();
+        assertThat(tokens.stream().filter(token -> token.getFamilyId().equals(familyId)).map(RefreshToken::isRevoked))
+                .containsExactly(true, true);
+        assertThat(tokens.stream().filter(token -> !token.getFamilyId().equals(familyId)).map(RefreshToken::isRevoked))
+                .containsExactly(false);
+        assertThat(refreshTokenService.use(otherDevice)).isNotNull();
+    }
+}
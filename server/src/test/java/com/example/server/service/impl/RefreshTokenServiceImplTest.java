@@ -0,0 +1,135 @@
+package com.example.server.service.impl;
+
+import com.example.server.entity.RefreshToken;
+import com.example.server.entity.User;
+import com.example.server.exception.AuthenticationException;
+import com.example.server.repository.RefreshTokenRepository;
+import com.example.server.security.TokenClaims;
+import com.example.server.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    private final User user = User.builder().id(1L).email("user@example.com").build();
+    // Stands in for the refresh_tokens table, keyed by token hash
+    private final Map<String, RefreshToken> rows = new HashMap<>();
+    private int issued;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", 60_000L);
+        TokenClaims claims = new TokenClaims(user.getEmail(), user.getId(), List.of(), Instant.now(), Instant.now().plusSeconds(60));
+        lenient().when(jwtService.generateRefreshToken(user)).thenAnswer(invocation -> "token-" + ++issued);
+        lenient().when(jwtService.verifyToken(anyString())).thenReturn(Optional.of(claims));
+        lenient().when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken row = invocation.getArgument(0);
+            rows.put(row.getTokenHash(), row);
+            return row;
+        });
+        lenient().when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        lenient().when(refreshTokenRepository.markUsed(anyString(), anyLong())).thenAnswer(invocation -> {
+            RefreshToken row = rows.get(invocation.<String>getArgument(0));
+            long now = invocation.getArgument(1);
+            if (row == null || row.getUsedAt() != null || row.isRevoked() || row.getExpiresAt() <= now) {
+                return 0;
+            }
+            row.setUsedAt(now);
+            return 1;
+        });
+        lenient().when(refreshTokenRepository.revokeFamily(anyString())).thenAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            int revoked = 0;
+            for (RefreshToken row : rows.values()) {
+                if (row.getFamilyId().equals(familyId) && !row.isRevoked()) {
+                    row.setRevoked(true);
+                    revoked++;
+                }
+            }
+            return revoked;
+        });
+    }
+
+    @Test
+    void rotationConsumesEachTokenOnce() {
+        String first = refreshTokenService.issue(user, null);
+
+        RefreshToken used = refreshTokenService.use(first);
+        String second = refreshTokenService.issue(user, used.getFamilyId());
+
+        assertThat(refreshTokenService.use(second).getFamilyId()).isEqualTo(used.getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void reusingAConsumedTokenRevokesItsFamily() {
+        String first = refreshTokenService.issue(user, null);
+        String familyId = refreshTokenService.use(first).getFamilyId();
+        String second = refreshTokenService.issue(user, familyId);
+        String otherDevice = refreshTokenService.issue(user, null);
+
+        assertThatThrownBy(() -> refreshTokenService.use(first)).isInstanceOf(AuthenticationException.class);
+
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        assertThatThrownBy(() -> refreshTokenService.use(second)).isInstanceOf(AuthenticationException.class);
+        assertThat(refreshTokenService.use(otherDevice)).isNotNull();
+    }
+
+    @Test
+    void revokedTokensAreRejectedWithoutAnotherRevocation() {
+        String token = refreshTokenService.issue(user, null);
+        refreshTokenService.revoke(token);
+
+        assertThatThrownBy(() -> refreshTokenService.use(token)).isInstanceOf(AuthenticationException.class);
+
+        verify(refreshTokenRepository).revokeFamily(anyString());
+    }
+
+    @Test
+    void unknownTokensAreRejected() {
+        assertThatThrownBy(() -> refreshTokenService.use("token-unknown")).isInstanceOf(AuthenticationException.class);
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void tokensThatFailVerificationAreRejectedUnconsumed() {
+        String token = refreshTokenService.issue(user, null);
+        lenient().when(jwtService.verifyToken(token)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.use(token)).isInstanceOf(AuthenticationException.class);
+
+        verify(refreshTokenRepository, never()).markUsed(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.server.upstream;
+
+import com.example.server.dto.openstreetmap.OpenStreetMapSearchResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NominatimSchedulerTest {
+
+    private static final List<OpenStreetMapSearchResponse> RESULTS = List.of(new OpenStreetMapSearchResponse());
+
+    private final ExecutorService upstreamExecutor = Executors.newCachedThreadPool();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    private NominatimScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void identicalQueriesShareOneCall() throws Exception {
+        scheduler = scheduler(100, 1, 10, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<List<OpenStreetMapSearchResponse>> search = () -> {
+            calls.incrementAndGet();
+            await(release);
+            return RESULTS;
+        };
+
+        List<CompletableFuture<List<OpenStreetMapSearchResponse>>> futures = new ArrayList<>();
+        futures.add(scheduler.submit("Kyiv cafe", search));
+        futures.add(scheduler.submit("  kyiv   CAFE ", search));
+        futures.add(scheduler.submit("KYIV CAFE", search));
+        release.countDown();
+
+        for (CompletableFuture<List<OpenStreetMapSearchResponse>> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(RESULTS);
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.counter("openstreetmap.scheduler.coalesced").count()).isEqualTo(2);
+    }
+
+    @Test
+    void finishedCallsAreNotJoined() throws Exception {
+        scheduler = scheduler(100, 1, 10, Duration.ofSeconds(10));
+
+        scheduler.submit("lviv", search("lviv")).get(5, TimeUnit.SECONDS);
+        scheduler.submit("lviv", search("lviv")).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent).containsExactly("lviv", "lviv");
+    }
+
+    @Test
+    void fullQueueShedsTheLeastWantedCall() throws Exception {
+        scheduler = started(0.001, Duration.ofSeconds(10));
+        CompletableFuture<List<OpenStreetMapSearchResponse>> oldest = scheduler.submit("a", search("a"));
+        scheduler.submit("b", search("b"));
+        scheduler.submit("b", search("b"));
+        scheduler.submit("c", search("c"));
+
+        CompletableFuture<List<OpenStreetMapSearchResponse>> newest = scheduler.submit("d", search("d"));
+
+        assertRejected(oldest);
+        assertThat(newest).isNotDone();
+        assertThat(scheduler.queueDepth()).isEqualTo(3);
+        assertThat(shed("queue_full")).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejectsANewCallWhenEveryQueuedCallIsWantedMore() throws Exception {
+        scheduler = started(0.001, Duration.ofSeconds(10));
+        for (String query : List.of("a", "b", "c")) {
+            scheduler.submit(query, search(query));
+            scheduler.submit(query, search(query));
+        }
+
+        CompletableFuture<List<OpenStreetMapSearchResponse>> rejected = scheduler.submit("d", search("d"));
+
+        assertRejected(rejected);
+        assertThat(scheduler.queueDepth()).isEqualTo(3);
+    }
+
+    @Test
+    void callsThatWaitedTooLongAreDroppedUnsent() throws Exception {
+        scheduler = started(1, Duration.ofMillis(200));
+
+        CompletableFuture<List<OpenStreetMapSearchResponse>> stale = scheduler.submit("a", search("a"));
+
+        assertRejected(stale);
+        assertThat(sent).containsExactly("warm-up");
+        assertThat(shed("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void mostWantedCallsGoFirstThenNewest() throws Exception {
+        scheduler = scheduler(2, 1, 10, Duration.ofSeconds(10));
+        scheduler.submit("warm-up", search("warm-up")).get(5, TimeUnit.SECONDS);
+
+        List<CompletableFuture<List<OpenStreetMapSearchResponse>>> futures = new ArrayList<>();
+        futures.add(scheduler.submit("a", search("a")));
+        futures.add(scheduler.submit("b", search("b")));
+        futures.add(scheduler.submit("c", search("c")));
+        futures.add(scheduler.submit("b", search("b")));
+        for (CompletableFuture<List<OpenStreetMapSearchResponse>> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(sent).containsExactly("warm-up", "b", "c", "a");
+    }
+
+    // The only permit is spent on a first call, so the next one waits a full permit interval
+    private NominatimScheduler started(double requestsPerSecond, Duration maxWait) throws Exception {
+        NominatimScheduler started = scheduler(requestsPerSecond, 1, 3, maxWait);
+        started.submit("warm-up", search("warm-up")).get(5, TimeUnit.SECONDS);
+        return started;
+    }
+
+    private NominatimScheduler scheduler(double requestsPerSecond, int burst, int maxQueue, Duration maxWait) {
+        NominatimScheduler created = new NominatimScheduler(upstreamExecutor, meterRegistry, requestsPerSecond, burst,
+                maxQueue, maxWait);
+        created.start();
+        return created;
+    }
+
+    private Supplier<List<OpenStreetMapSearchResponse>> search(String query) {
+        return () -> {
+            sent.add(query);
+            return RESULTS;
+        };
+    }
+
+    private double shed(String reason) {
+        return meterRegistry.counter("openstreetmap.scheduler.shed", "reason", reason).count();
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
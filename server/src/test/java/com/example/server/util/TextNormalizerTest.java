@@ -0,0 +1,50 @@
+package com.example.server.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    // Apostrophes are part of the cases, so double quotes are the quote character
+    @ParameterizedTest
+    @CsvSource(quoteCharacter = '"', value = {
+            "Кав’ярня, kaviarnia",
+            "кавʼярня, kaviarnia",
+            "КАВ'ЯРНЯ, kaviarnia",
+            "kaviarnia, kaviarnia",
+            "Щастя, shchastia",
+            "Їжак, izhak",
+            "Ґанок, ganok",
+            "Європа, ievropa",
+            "Хрещатик, khreshchatyk",
+            "Подвір'я, podviria",
+            "Café Crème, cafe creme",
+            "Straße, straße",
+            "ＡＢＣ １２３, abc 123",
+            "ﬁlm, film"
+    })
+    void foldsSpellingsToOneKey(String text, String expected) {
+        assertThat(TextNormalizer.fold(text)).isEqualTo(expected);
+    }
+
+    @Test
+    void foldTurnsPunctuationAndWhitespaceIntoSingleSpaces() {
+        assertThat(TextNormalizer.fold("  вул. Хрещатик,\t22 / 2 ")).isEqualTo("vul khreshchatyk 22 2");
+        assertThat(TextNormalizer.fold(" -- ")).isEmpty();
+    }
+
+    @Test
+    void foldOfNullIsEmpty() {
+        assertThat(TextNormalizer.fold(null)).isEmpty();
+    }
+
+    @Test
+    void normalizeKeepsTheScriptButUnifiesApostrophesCaseAndWhitespace() {
+        assertThat(TextNormalizer.normalize("  М’ясо   Бар ")).isEqualTo("м'ясо бар");
+        assertThat(TextNormalizer.normalize("мʼясо бар")).isEqualTo("м'ясо бар");
+        assertThat(TextNormalizer.normalize(null)).isEmpty();
+    }
+}